@@ -0,0 +1,45 @@
+package notesapi.application.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Validator;
+import notesapi.application.dto.response.FieldValidationError;
+import notesapi.domain.model.NoteOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public record BulkNoteRequest(Op op, String id, NoteRequest note) {
+
+    public enum Op {
+        @JsonProperty("create") CREATE,
+        @JsonProperty("update") UPDATE,
+        @JsonProperty("delete") DELETE
+    }
+
+    public List<FieldValidationError> validate(Validator validator) {
+        List<FieldValidationError> errors = new ArrayList<>();
+        if (op == null) {
+            errors.add(new FieldValidationError("op", "The op must be create, update or delete"));
+            return errors;
+        }
+        if (op != Op.CREATE && (id == null || id.isBlank())) {
+            errors.add(new FieldValidationError("id", "The id cannot be empty"));
+        }
+        if (op != Op.DELETE) {
+            if (note == null) {
+                errors.add(new FieldValidationError("note", "The note cannot be empty"));
+            } else {
+                validator.validate(note).stream()
+                        .map(violation -> new FieldValidationError("note." + violation.getPropertyPath(), violation.getMessage()))
+                        .sorted(Comparator.comparing(FieldValidationError::field))
+                        .forEach(errors::add);
+            }
+        }
+        return errors;
+    }
+
+    public NoteOperation toOperation(long index) {
+        return new NoteOperation(index, NoteOperation.Type.valueOf(op.name()), id, note != null ? note.toNote() : null);
+    }
+}
@@ -0,0 +1,15 @@
+package notesapi.application.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MultiGetRequest(
+        @NotEmpty(message = "The ids cannot be empty")
+        @Size(max = MultiGetRequest.MAX_IDS, message = "At most " + MultiGetRequest.MAX_IDS + " ids can be requested at once")
+        List<@NotBlank(message = "The ids cannot be blank") String> ids
+) {
+    public static final int MAX_IDS = 1000;
+}
@@ -0,0 +1,25 @@
+package notesapi.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import notesapi.domain.model.NoteOperationResult;
+
+import java.util.List;
+import java.util.Locale;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResponse(
+        long index,
+        String id,
+        String status,
+        String error,
+        List<FieldValidationError> errors
+) {
+    public static BulkItemResponse from(NoteOperationResult result) {
+        return new BulkItemResponse(result.index(), result.id(), result.status().name().toLowerCase(Locale.ROOT),
+                result.error(), null);
+    }
+
+    public static BulkItemResponse invalid(long index, String id, List<FieldValidationError> errors) {
+        return new BulkItemResponse(index, id, "invalid", "Validation failed", errors);
+    }
+}
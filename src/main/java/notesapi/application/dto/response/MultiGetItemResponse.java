@@ -0,0 +1,17 @@
+package notesapi.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import notesapi.domain.model.Note;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MultiGetItemResponse(
+        String id,
+        boolean found,
+        NoteResponse note
+) {
+    public static MultiGetItemResponse of(String id, Note note) {
+        return note != null
+                ? new MultiGetItemResponse(id, true, NoteResponse.from(note))
+                : new MultiGetItemResponse(id, false, null);
+    }
+}
@@ -0,0 +1,15 @@
+package notesapi.application.dto.response;
+
+import notesapi.domain.model.Note;
+
+import java.util.List;
+import java.util.Map;
+
+public record MultiGetResponse(List<MultiGetItemResponse> items) {
+
+    public static MultiGetResponse of(List<String> ids, Map<String, Note> notes) {
+        return new MultiGetResponse(ids.stream()
+                .map(id -> MultiGetItemResponse.of(id, notes.get(id)))
+                .toList());
+    }
+}
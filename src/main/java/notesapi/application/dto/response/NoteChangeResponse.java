@@ -0,0 +1,27 @@
+package notesapi.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import notesapi.domain.model.NoteChange;
+
+import java.util.Locale;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NoteChangeResponse(
+        String type,
+        String id,
+        NoteResponse note
+) {
+    public static final String RESET = "reset";
+
+    public static NoteChangeResponse reset() {
+        return new NoteChangeResponse(RESET, null, null);
+    }
+
+    public static NoteChangeResponse from(NoteChange change) {
+        return new NoteChangeResponse(
+                change.type().name().toLowerCase(Locale.ROOT),
+                change.id(),
+                change.note() != null ? NoteResponse.from(change.note()) : null
+        );
+    }
+}
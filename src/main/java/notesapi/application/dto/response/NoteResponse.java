@@ -1,26 +1,50 @@
 package notesapi.application.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.model.NoteProjection.Field;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record NoteResponse(
         String id,
         String title,
         String content,
+        String contentPreview,
         List<String> tags,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version
 ) {
     public static NoteResponse from(Note note) {
         return new NoteResponse(
                 note.getId(),
                 note.getTitle(),
                 note.getContent(),
+                null,
                 note.getTags(),
                 note.getCreatedAt(),
-                note.getUpdatedAt()
+                note.getUpdatedAt(),
+                note.getVersion()
+        );
+    }
+
+    public static NoteResponse from(Note note, NoteProjection projection) {
+        if (projection.isFull()) {
+            return from(note);
+        }
+        return new NoteResponse(
+                note.getId(),
+                projection.includes(Field.TITLE) ? note.getTitle() : null,
+                projection.includes(Field.CONTENT) ? note.getContent() : null,
+                projection.includes(Field.CONTENT_PREVIEW) ? projection.preview(note.getContent()) : null,
+                projection.includes(Field.TAGS) ? note.getTags() : null,
+                projection.includes(Field.CREATED_AT) ? note.getCreatedAt() : null,
+                projection.includes(Field.UPDATED_AT) ? note.getUpdatedAt() : null,
+                note.getVersion()
         );
     }
 }
@@ -1,11 +1,43 @@
 package notesapi.application.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.model.NoteSlice;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PaginatedResponse(
         List<NoteResponse> items,
-        int currentPage,
+        Integer currentPage,
         int pageSize,
-        long totalItems,
-        int totalPages
-) {}
\ No newline at end of file
+        Long totalItems,
+        Integer totalPages,
+        String nextCursor,
+        String prevCursor
+) {
+    public static PaginatedResponse of(List<NoteResponse> items, int page, int size) {
+        return new PaginatedResponse(items, page, size, null, null, null, null);
+    }
+
+    public static PaginatedResponse of(List<NoteResponse> items, int page, int size, long totalItems) {
+        int totalPages = (int) Math.ceil((double) totalItems / size);
+        return new PaginatedResponse(items, page, size, totalItems, totalPages, null, null);
+    }
+
+    public static PaginatedResponse of(NoteSlice slice, int size) {
+        return of(slice, size, NoteProjection.full());
+    }
+
+    public static PaginatedResponse of(NoteSlice slice, int size, NoteProjection projection) {
+        List<NoteResponse> items = slice.notes().stream()
+                .map(note -> NoteResponse.from(note, projection))
+                .toList();
+        return new PaginatedResponse(items, null, size, null, null, encode(slice.next()), encode(slice.previous()));
+    }
+
+    private static String encode(NoteCursor cursor) {
+        return cursor != null ? cursor.encode() : null;
+    }
+}
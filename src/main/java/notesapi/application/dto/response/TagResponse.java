@@ -0,0 +1,12 @@
+package notesapi.application.dto.response;
+
+import notesapi.domain.model.TagCount;
+
+public record TagResponse(
+        String tag,
+        long count
+) {
+    public static TagResponse from(TagCount tagCount) {
+        return new TagResponse(tagCount.tag(), tagCount.count());
+    }
+}
@@ -0,0 +1,38 @@
+package notesapi.common;
+
+import notesapi.domain.model.Note;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class NoteTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NoteTokenizer() {
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public static Set<String> tokenize(Note note) {
+        Set<String> tokens = tokenize(note.getTitle());
+        tokens.addAll(tokenize(note.getContent()));
+        if (note.getTags() != null) {
+            note.getTags().forEach(tag -> tokens.addAll(tokenize(tag)));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,46 @@
+package notesapi.domain.event;
+
+import notesapi.domain.model.Note;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public record NoteChangedEvent(Type type, Note previous, Note current) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static NoteChangedEvent created(Note note) {
+        return new NoteChangedEvent(Type.CREATED, null, note);
+    }
+
+    public static NoteChangedEvent updated(Note previous, Note current) {
+        return new NoteChangedEvent(Type.UPDATED, previous, current);
+    }
+
+    public static NoteChangedEvent deleted(Note note) {
+        return new NoteChangedEvent(Type.DELETED, note, null);
+    }
+
+    public String id() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public Map<String, Integer> tagDeltas() {
+        Set<String> removed = tagsOf(previous);
+        Set<String> added = tagsOf(current);
+        Map<String, Integer> deltas = new HashMap<>();
+        removed.stream().filter(tag -> !added.contains(tag)).forEach(tag -> deltas.put(tag, -1));
+        added.stream().filter(tag -> !removed.contains(tag)).forEach(tag -> deltas.put(tag, 1));
+        return deltas;
+    }
+
+    private static Set<String> tagsOf(Note note) {
+        List<String> tags = note != null ? note.getTags() : null;
+        return tags != null ? new HashSet<>(tags) : Set.of();
+    }
+}
@@ -0,0 +1,7 @@
+package notesapi.domain.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package notesapi.domain.exception;
+
+public class InvalidResumeTokenException extends RuntimeException {
+    public InvalidResumeTokenException(String token) {
+        super("Resume token " + token + " is not valid.");
+    }
+}
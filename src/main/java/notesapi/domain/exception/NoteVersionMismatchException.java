@@ -0,0 +1,7 @@
+package notesapi.domain.exception;
+
+public class NoteVersionMismatchException extends RuntimeException {
+    public NoteVersionMismatchException(String id) {
+        super("Note with ID " + id + " was modified by another request.");
+    }
+}
@@ -3,6 +3,7 @@ package notesapi.domain.model;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -10,7 +11,7 @@ import java.util.List;
 
 @Document(collection = "notes")
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class Note {
 
     @Id
@@ -20,4 +21,16 @@ public class Note {
     private List<String> tags;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+    @Version
+    private Long version;
+
+    public Note updatedWith(Note changes) {
+        return toBuilder()
+                .title(changes.getTitle())
+                .content(changes.getContent())
+                .tags(changes.getTags())
+                .updatedAt(changes.getUpdatedAt())
+                .version(version != null ? version + 1 : 1L)
+                .build();
+    }
+}
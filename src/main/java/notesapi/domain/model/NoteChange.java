@@ -0,0 +1,16 @@
+package notesapi.domain.model;
+
+import notesapi.domain.event.NoteChangedEvent;
+
+public record NoteChange(String token, NoteChangedEvent.Type type, String id, Note note) {
+
+    // A reset is not a change of a note, only the position a subscriber has to reload the notes from, because the
+    // changes before it can no longer be replayed
+    public static NoteChange reset(String token) {
+        return new NoteChange(token, null, null, null);
+    }
+
+    public boolean isReset() {
+        return type == null;
+    }
+}
@@ -0,0 +1,55 @@
+package notesapi.domain.model;
+
+import notesapi.domain.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record NoteCursor(LocalDateTime createdAt, String id, Direction direction) {
+
+    private static final String SEPARATOR = "|";
+
+    public enum Direction {
+        NEXT, PREVIOUS
+    }
+
+    public static NoteCursor next(Note note) {
+        return new NoteCursor(note.getCreatedAt(), note.getId(), Direction.NEXT);
+    }
+
+    public static NoteCursor previous(Note note) {
+        return new NoteCursor(note.getCreatedAt(), note.getId(), Direction.PREVIOUS);
+    }
+
+    public boolean isForward() {
+        return direction == Direction.NEXT;
+    }
+
+    public String encode() {
+        String raw = direction.name().charAt(0) + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NoteCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new InvalidCursorException(token);
+            }
+            Direction direction = switch (parts[0]) {
+                case "N" -> Direction.NEXT;
+                case "P" -> Direction.PREVIOUS;
+                default -> throw new InvalidCursorException(token);
+            };
+            return new NoteCursor(LocalDateTime.parse(parts[1]), parts[2], direction);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package notesapi.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record NoteFilter(List<String> tags, TagMatch match, LocalDateTime updatedSince) {
+
+    public enum TagMatch {
+        ANY, ALL
+    }
+
+    public static NoteFilter none() {
+        return new NoteFilter(List.of(), TagMatch.ANY, null);
+    }
+
+    public static NoteFilter tagged(List<String> tags, TagMatch match) {
+        return new NoteFilter(tags, match, null);
+    }
+
+    public NoteFilter(List<String> tags, LocalDateTime updatedSince) {
+        this(tags, TagMatch.ANY, updatedSince);
+    }
+
+    public NoteFilter {
+        tags = tags != null ? tags.stream().distinct().toList() : List.of();
+        match = match != null ? match : TagMatch.ANY;
+    }
+
+    public boolean isEmpty() {
+        return tags.isEmpty() && updatedSince == null;
+    }
+
+    public boolean matches(Note note) {
+        if (updatedSince != null && (note.getUpdatedAt() == null || note.getUpdatedAt().isBefore(updatedSince))) {
+            return false;
+        }
+        if (tags.isEmpty()) {
+            return true;
+        }
+        List<String> noteTags = note.getTags() != null ? note.getTags() : List.of();
+        return match == TagMatch.ALL
+                ? noteTags.containsAll(tags)
+                : tags.stream().anyMatch(noteTags::contains);
+    }
+}
@@ -0,0 +1,12 @@
+package notesapi.domain.model;
+
+public record NoteOperation(long index, Type type, String id, Note note) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    public NoteOperation withNote(Note note) {
+        return new NoteOperation(index, type, id, note);
+    }
+}
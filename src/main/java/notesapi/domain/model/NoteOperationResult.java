@@ -0,0 +1,32 @@
+package notesapi.domain.model;
+
+public record NoteOperationResult(long index, String id, Status status, Note previous, Note note, String error) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, FAILED
+    }
+
+    public static NoteOperationResult created(NoteOperation operation, Note note) {
+        return new NoteOperationResult(operation.index(), note.getId(), Status.CREATED, null, note, null);
+    }
+
+    public static NoteOperationResult updated(NoteOperation operation, Note previous, Note note) {
+        return new NoteOperationResult(operation.index(), note.getId(), Status.UPDATED, previous, note, null);
+    }
+
+    public static NoteOperationResult deleted(NoteOperation operation, Note previous) {
+        return new NoteOperationResult(operation.index(), previous.getId(), Status.DELETED, previous, null, null);
+    }
+
+    public static NoteOperationResult notFound(NoteOperation operation) {
+        return new NoteOperationResult(operation.index(), operation.id(), Status.NOT_FOUND, null, null, null);
+    }
+
+    public NoteOperationResult failed(String error) {
+        return new NoteOperationResult(index, id, Status.FAILED, null, null, error);
+    }
+
+    public boolean isWritten() {
+        return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+    }
+}
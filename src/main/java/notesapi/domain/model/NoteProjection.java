@@ -0,0 +1,87 @@
+package notesapi.domain.model;
+
+import notesapi.domain.exception.InvalidFieldsException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record NoteProjection(Set<Field> fields, int previewLength) {
+
+    public static final int DEFAULT_PREVIEW_LENGTH = 200;
+
+    private static final Set<Field> ALWAYS_INCLUDED = Collections.unmodifiableSet(EnumSet.of(Field.ID, Field.VERSION));
+    private static final Set<Field> FULL = Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(Field.CONTENT_PREVIEW)));
+
+    public enum Field {
+        ID("id"),
+        TITLE("title"),
+        CONTENT("content"),
+        CONTENT_PREVIEW("contentPreview"),
+        TAGS("tags"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt"),
+        VERSION("version");
+
+        private final String fieldName;
+
+        Field(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        public String fieldName() {
+            return fieldName;
+        }
+
+        static Field named(String name) {
+            return Arrays.stream(values())
+                    .filter(field -> field.fieldName.equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldsException("Field " + name + " is not valid. Allowed fields are "
+                            + Arrays.stream(values()).map(Field::fieldName).collect(Collectors.joining(", ")) + "."));
+        }
+    }
+
+    public static NoteProjection full() {
+        return new NoteProjection(FULL, DEFAULT_PREVIEW_LENGTH);
+    }
+
+    public static NoteProjection of(List<String> names, int previewLength) {
+        if (names == null || names.isEmpty()) {
+            return full();
+        }
+        Set<Field> fields = names.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(Field::named)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(Field.class)));
+        return new NoteProjection(fields, previewLength);
+    }
+
+    public NoteProjection {
+        if (previewLength < 1) {
+            throw new InvalidFieldsException("Preview length must be positive.");
+        }
+        Set<Field> included = EnumSet.copyOf(fields != null && !fields.isEmpty() ? fields : FULL);
+        included.addAll(ALWAYS_INCLUDED);
+        fields = Collections.unmodifiableSet(included);
+    }
+
+    public boolean isFull() {
+        return fields.equals(FULL);
+    }
+
+    public boolean includes(Field field) {
+        return fields.contains(field);
+    }
+
+    public String preview(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= previewLength) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, previewLength));
+    }
+}
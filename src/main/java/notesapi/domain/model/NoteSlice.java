@@ -0,0 +1,26 @@
+package notesapi.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public record NoteSlice(List<Note> notes, NoteCursor next, NoteCursor previous) {
+
+    public static NoteSlice of(List<Note> fetched, NoteCursor cursor, int size) {
+        boolean hasMore = fetched.size() > size;
+        List<Note> notes = new ArrayList<>(fetched.subList(0, Math.min(size, fetched.size())));
+        if (notes.isEmpty()) {
+            return new NoteSlice(notes, null, null);
+        }
+
+        if (cursor != null && !cursor.isForward()) {
+            Collections.reverse(notes);
+            NoteCursor previous = hasMore ? NoteCursor.previous(notes.getFirst()) : null;
+            return new NoteSlice(notes, NoteCursor.next(notes.getLast()), previous);
+        }
+
+        NoteCursor next = hasMore ? NoteCursor.next(notes.getLast()) : null;
+        NoteCursor previous = cursor != null ? NoteCursor.previous(notes.getFirst()) : null;
+        return new NoteSlice(notes, next, previous);
+    }
+}
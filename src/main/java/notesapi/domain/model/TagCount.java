@@ -0,0 +1,4 @@
+package notesapi.domain.model;
+
+public record TagCount(String tag, long count) {
+}
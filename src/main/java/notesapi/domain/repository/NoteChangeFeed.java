@@ -0,0 +1,11 @@
+package notesapi.domain.repository;
+
+import notesapi.domain.model.NoteChange;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface NoteChangeFeed {
+
+    Flux<NoteChange> changes(String resumeToken, List<String> tags);
+}
@@ -0,0 +1,9 @@
+package notesapi.domain.repository;
+
+import reactor.core.publisher.Mono;
+
+public interface NoteCounter {
+
+    Mono<Long> count();
+    Mono<Long> countByKeyword(String keyword);
+}
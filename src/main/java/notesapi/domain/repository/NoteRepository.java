@@ -1,17 +1,35 @@
 package notesapi.domain.repository;
 
 import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface NoteRepository {
 
     Mono<Note> findById(String id);
+    Mono<Note> findMetadataById(String id);
+    Flux<Note> findAllById(Collection<String> ids);
+    Flux<Note> findAllById(Collection<String> ids, NoteProjection projection);
     Mono<Note> save(Note note);
     Mono<Void> deleteAll();
     Mono<Void> deleteById(String id);
+    Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes);
+    Mono<Note> findAndDeleteById(String id, Long expectedVersion);
+    Flux<Note> findAll();
     Flux<Note> findAll(int page, int size);
-    Flux<Note> search(String keyword, int page, int size);
+    Flux<Note> findAll(NoteCursor cursor, int size);
+    Flux<Note> findAll(NoteFilter filter);
+    Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size);
+    Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size);
     Mono<Long> count();
-    Mono<Long> countByKeyword(String keyword);
+    Mono<Long> count(NoteFilter filter);
+    Mono<Long> estimatedCount();
+    Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations);
 }
@@ -0,0 +1,16 @@
+package notesapi.domain.repository;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface NoteSearchIndex {
+
+    Flux<Note> search(String keyword, NoteProjection projection, int page, int size);
+    Flux<Note> search(String keyword, NoteProjection projection, NoteCursor cursor, int size);
+    Mono<Long> count(String keyword);
+    Mono<Void> index(Note note);
+    Mono<Void> remove(String id);
+}
@@ -0,0 +1,9 @@
+package notesapi.domain.repository;
+
+import notesapi.domain.model.TagCount;
+import reactor.core.publisher.Flux;
+
+public interface NoteTagIndex {
+
+    Flux<TagCount> tags();
+}
@@ -1,35 +1,118 @@
 package notesapi.domain.service;
 
 import lombok.AllArgsConstructor;
+import notesapi.domain.event.NoteChangedEvent;
 import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteChange;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.model.NoteSlice;
+import notesapi.domain.model.TagCount;
 import notesapi.domain.exception.NoteNotFoundException;
+import notesapi.domain.exception.NoteVersionMismatchException;
+import notesapi.domain.repository.NoteChangeFeed;
+import notesapi.domain.repository.NoteCounter;
 import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.domain.repository.NoteTagIndex;
 import notesapi.common.DateTimeProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @AllArgsConstructor
 public class NoteService {
 
     private NoteRepository noteRepository;
+    private NoteSearchIndex noteSearchIndex;
+    private NoteCounter noteCounter;
+    private NoteTagIndex noteTagIndex;
+    private NoteChangeFeed noteChangeFeed;
     private DateTimeProvider dateTimeProvider;
+    private ApplicationEventPublisher eventPublisher;
 
     public Mono<Note> findById(String id) {
         return noteRepository.findById(id).switchIfEmpty(Mono.error(new NoteNotFoundException(id)));
     }
 
+    public Mono<Note> findMetadataById(String id) {
+        return noteRepository.findMetadataById(id).switchIfEmpty(Mono.error(new NoteNotFoundException(id)));
+    }
+
+    public Mono<Map<String, Note>> findAllById(Collection<String> ids) {
+        return Flux.defer(() -> noteRepository.findAllById(new LinkedHashSet<>(ids)))
+                .collectMap(Note::getId);
+    }
+
     public Flux<Note> findAll(int page, int size) {
-        return noteRepository.findAll(page, size)
-                .skip((long) page * size)
-                .take(size);
+        return findAll(NoteFilter.none(), page, size);
+    }
+
+    public Flux<Note> findAll(NoteFilter filter, int page, int size) {
+        return findAll(filter, NoteProjection.full(), page, size);
+    }
+
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return validatePagination(page, size)
+                .thenMany(Flux.defer(() -> filter.isEmpty() && projection.isFull()
+                        ? noteRepository.findAll(page, size)
+                        : noteRepository.findAll(filter, projection, page, size)));
+    }
+
+    public Mono<NoteSlice> findAll(NoteCursor cursor, int size) {
+        return findAll(NoteFilter.none(), cursor, size);
+    }
+
+    public Mono<NoteSlice> findAll(NoteFilter filter, NoteCursor cursor, int size) {
+        return findAll(filter, NoteProjection.full(), cursor, size);
+    }
+
+    public Mono<NoteSlice> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return validatePagination(0, size)
+                .thenMany(Flux.defer(() -> filter.isEmpty() && projection.isFull()
+                        ? noteRepository.findAll(cursor, size + 1)
+                        : noteRepository.findAll(filter, projection, cursor, size + 1)))
+                .collectList()
+                .map(notes -> NoteSlice.of(notes, cursor, size));
+    }
+
+    public Flux<Note> export(NoteFilter filter) {
+        return Flux.defer(() -> noteRepository.findAll(filter));
+    }
+
+    public Flux<NoteChange> changes(String resumeToken, List<String> tags) {
+        return Flux.defer(() -> noteChangeFeed.changes(resumeToken, tags != null ? tags : List.of()));
     }
 
     public Flux<Note> search(String keyword, int page, int size) {
-        return noteRepository.search(keyword, page, size)
-                .skip((long) page * size)
-                .take(size);
+        return search(keyword, NoteProjection.full(), page, size);
+    }
+
+    public Flux<Note> search(String keyword, NoteProjection projection, int page, int size) {
+        return validatePagination(page, size)
+                .thenMany(Flux.defer(() -> noteSearchIndex.search(keyword, projection, page, size)));
+    }
+
+    public Mono<NoteSlice> search(String keyword, NoteCursor cursor, int size) {
+        return search(keyword, NoteProjection.full(), cursor, size);
+    }
+
+    public Mono<NoteSlice> search(String keyword, NoteProjection projection, NoteCursor cursor, int size) {
+        return validatePagination(0, size)
+                .thenMany(Flux.defer(() -> noteSearchIndex.search(keyword, projection, cursor, size + 1)))
+                .collectList()
+                .map(notes -> NoteSlice.of(notes, cursor, size));
     }
 
     public Mono<Note> create(Note note) {
@@ -40,34 +123,101 @@ public class NoteService {
                 .createdAt(dateTimeProvider.now())
                 .updatedAt(dateTimeProvider.now())
                 .build();
-        return noteRepository.save(noteToSave);
+        return noteRepository.save(noteToSave)
+                .flatMap(this::index)
+                .doOnNext(saved -> eventPublisher.publishEvent(NoteChangedEvent.created(saved)));
     }
 
     public Mono<Note> update(Note note, String id) {
-        return noteRepository.findById(id)
-                .switchIfEmpty(Mono.error(new NoteNotFoundException(id)))
-                .map(savedNote -> Note.builder()
-                        .id(savedNote.getId())
-                        .title(note.getTitle())
-                        .content(note.getContent())
-                        .tags(note.getTags())
-                        .createdAt(savedNote.getCreatedAt())
-                        .updatedAt(dateTimeProvider.now())
-                        .build())
-                .flatMap(noteRepository::save);
+        return update(note, id, null);
+    }
+
+    public Mono<Note> update(Note note, String id, Long expectedVersion) {
+        Note changes = note.toBuilder()
+                .updatedAt(dateTimeProvider.now())
+                .build();
+        return noteRepository.findAndUpdate(id, expectedVersion, changes)
+                .switchIfEmpty(notWritten(id, expectedVersion))
+                .flatMap(previous -> {
+                    Note updated = previous.updatedWith(changes);
+                    return index(updated)
+                            .doOnNext(saved -> eventPublisher.publishEvent(NoteChangedEvent.updated(previous, saved)));
+                });
     }
 
     public Mono<Void> deleteById(String id) {
-        return noteRepository.findById(id)
-                .switchIfEmpty(Mono.error(new NoteNotFoundException(id)))
-                .flatMap(note -> noteRepository.deleteById(note.getId()));
+        return deleteById(id, null);
+    }
+
+    public Mono<Void> deleteById(String id, Long expectedVersion) {
+        return noteRepository.findAndDeleteById(id, expectedVersion)
+                .switchIfEmpty(notWritten(id, expectedVersion))
+                .flatMap(note -> noteSearchIndex.remove(note.getId())
+                        .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(NoteChangedEvent.deleted(note)))));
+    }
+
+    public Flux<NoteOperationResult> bulk(Flux<NoteOperation> operations) {
+        return noteRepository.bulkWrite(operations.map(this::stamp))
+                .concatMap(result -> result.isWritten() ? apply(result).thenReturn(result) : Mono.just(result));
     }
 
     public Mono<Long> count() {
-        return noteRepository.count();
+        return noteCounter.count();
     }
 
     public Mono<Long> countByKeyword(String keyword) {
-        return noteRepository.countByKeyword(keyword);
+        return noteCounter.countByKeyword(keyword);
+    }
+
+    public Mono<Long> count(NoteFilter filter) {
+        return filter.isEmpty() ? noteCounter.count() : Mono.defer(() -> noteRepository.count(filter));
+    }
+
+    public Flux<TagCount> tags() {
+        return Flux.defer(() -> noteTagIndex.tags());
+    }
+
+    private Mono<Note> index(Note note) {
+        return noteSearchIndex.index(note).thenReturn(note);
+    }
+
+    private <T> Mono<T> notWritten(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new NoteNotFoundException(id));
+        }
+        return Mono.defer(() -> noteRepository.findMetadataById(id))
+                .flatMap(existing -> Mono.<T>error(new NoteVersionMismatchException(id)))
+                .switchIfEmpty(Mono.error(new NoteNotFoundException(id)));
+    }
+
+    private NoteOperation stamp(NoteOperation operation) {
+        if (operation.note() == null) {
+            return operation;
+        }
+        LocalDateTime now = dateTimeProvider.now();
+        Note.NoteBuilder note = operation.note().toBuilder().updatedAt(now);
+        if (operation.type() == NoteOperation.Type.CREATE) {
+            note.createdAt(now);
+        }
+        return operation.withNote(note.build());
+    }
+
+    private Mono<Void> apply(NoteOperationResult result) {
+        return switch (result.status()) {
+            case CREATED -> noteSearchIndex.index(result.note())
+                    .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(NoteChangedEvent.created(result.note()))));
+            case UPDATED -> noteSearchIndex.index(result.note())
+                    .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(NoteChangedEvent.updated(result.previous(), result.note()))));
+            case DELETED -> noteSearchIndex.remove(result.id())
+                    .then(Mono.fromRunnable(() -> eventPublisher.publishEvent(NoteChangedEvent.deleted(result.previous()))));
+            default -> Mono.empty();
+        };
+    }
+
+    private static Mono<Void> validatePagination(int page, int size) {
+        if (page < 0 || size < 1) {
+            return Mono.error(new IllegalArgumentException("Page must not be negative and size must be positive"));
+        }
+        return Mono.empty();
     }
 }
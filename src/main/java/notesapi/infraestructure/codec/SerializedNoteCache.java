@@ -0,0 +1,69 @@
+package notesapi.infraestructure.codec;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import notesapi.application.dto.response.NoteResponse;
+import notesapi.infraestructure.config.ResponseCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Component
+@ConditionalOnProperty(name = "notes.response-cache.enabled", havingValue = "true")
+public class SerializedNoteCache implements MeterBinder {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Cache<Key, ByteBuffer> fragments;
+
+    public SerializedNoteCache(ResponseCacheProperties properties) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumSize().toBytes())
+                .weigher((Key key, ByteBuffer json) -> json.capacity() + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+    }
+
+    public ByteBuffer get(NoteResponse note, Function<NoteResponse, byte[]> serializer) {
+        if (note.id() == null) {
+            return ByteBuffer.wrap(serializer.apply(note));
+        }
+        return fragments.get(Key.of(note), key -> offHeap(serializer.apply(note))).duplicate();
+    }
+
+    public CacheStats stats() {
+        return fragments.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, fragments, "note_responses");
+    }
+
+    private static ByteBuffer offHeap(byte[] json) {
+        return ByteBuffer.allocateDirect(json.length).put(json).flip().asReadOnlyBuffer();
+    }
+
+    // A note revision is identified by its id and version. The fields mask and preview length tell sparse
+    // fieldsets of the same revision apart
+    private record Key(String id, Long version, LocalDateTime updatedAt, int fields, int previewLength) {
+
+        static Key of(NoteResponse note) {
+            int fields = bit(note.title(), 0) | bit(note.content(), 1) | bit(note.contentPreview(), 2)
+                    | bit(note.tags(), 3) | bit(note.createdAt(), 4) | bit(note.updatedAt(), 5);
+            int previewLength = note.contentPreview() != null ? note.contentPreview().length() : -1;
+            return new Key(note.id(), note.version(), note.updatedAt(), fields, previewLength);
+        }
+
+        private static int bit(Object field, int position) {
+            return field != null ? 1 << position : 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package notesapi.infraestructure.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import notesapi.application.dto.response.NoteResponse;
+import notesapi.application.dto.response.PaginatedResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class SerializedNoteEncoder extends Jackson2JsonEncoder {
+
+    private static final byte[] ITEMS_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = {','};
+
+    private final SerializedNoteCache cache;
+
+    public SerializedNoteEncoder(ObjectMapper mapper, SerializedNoteCache cache) {
+        super(mapper);
+        this.cache = cache;
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        if (!isUtf8(mimeType) || isStreaming(mimeType)) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+        if (value instanceof NoteResponse note) {
+            return bufferFactory.wrap(cache.get(note, this::serialize));
+        }
+        if (value instanceof PaginatedResponse page && page.items() != null) {
+            return encodePage(page, bufferFactory);
+        }
+        return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+    }
+
+    // items is the first property, so the page is written as the cached items followed by the rest of an
+    // empty page: {"items":[ + items + ],"currentPage":...}
+    private DataBuffer encodePage(PaginatedResponse page, DataBufferFactory bufferFactory) {
+        byte[] emptyPage = serialize(new PaginatedResponse(List.of(), page.currentPage(), page.pageSize(),
+                page.totalItems(), page.totalPages(), page.nextCursor(), page.prevCursor()));
+
+        List<DataBuffer> parts = new ArrayList<>(page.items().size() * 2 + 2);
+        parts.add(bufferFactory.wrap(ITEMS_START));
+        for (NoteResponse item : page.items()) {
+            if (parts.size() > 1) {
+                parts.add(bufferFactory.wrap(SEPARATOR));
+            }
+            parts.add(bufferFactory.wrap(cache.get(item, this::serialize)));
+        }
+        parts.add(bufferFactory.wrap(Arrays.copyOfRange(emptyPage, ITEMS_START.length, emptyPage.length)));
+        return bufferFactory.join(parts);
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return getObjectMapper().writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("JSON encoding error: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    // Streams such as the export visit every note once, so caching them would only push out the notes that are
+    // read repeatedly
+    private boolean isStreaming(MimeType mimeType) {
+        return mimeType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(mimeType)
+                || getStreamingMediaTypes().stream().anyMatch(streaming -> streaming.isCompatibleWith(mimeType)));
+    }
+
+    private static boolean isUtf8(MimeType mimeType) {
+        return mimeType == null || mimeType.getCharset() == null || StandardCharsets.UTF_8.equals(mimeType.getCharset());
+    }
+}
@@ -0,0 +1,45 @@
+package notesapi.infraestructure.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "notes.repository.driver", havingValue = "blocking")
+public class BlockingMongoConfig {
+
+    public static final String VIRTUAL_THREADS = "virtualThreads";
+
+    @Bean(destroyMethod = "close")
+    public MongoClient blockingMongoClient(MongoConnectionDetails connectionDetails) {
+        return MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(connectionDetails.getConnectionString())
+                .build());
+    }
+
+    @Bean
+    public MongoTemplate mongoTemplate(MongoClient blockingMongoClient,
+                                       MongoConnectionDetails connectionDetails,
+                                       MappingMongoConverter mappingMongoConverter) {
+        ConnectionString connectionString = connectionDetails.getConnectionString();
+        String database = connectionString.getDatabase() != null ? connectionString.getDatabase() : "test";
+        return new MongoTemplate(new SimpleMongoClientDatabaseFactory(blockingMongoClient, database), mappingMongoConverter);
+    }
+
+    @Bean(name = VIRTUAL_THREADS, destroyMethod = "dispose")
+    public Scheduler virtualThreadScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), VIRTUAL_THREADS);
+    }
+}
@@ -0,0 +1,10 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notes.changes")
+public record ChangeFeedProperties(
+        @DefaultValue("in-memory") String engine,
+        @DefaultValue("1000") int replaySize
+) {}
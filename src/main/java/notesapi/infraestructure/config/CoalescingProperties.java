@@ -0,0 +1,9 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notes.coalescing")
+public record CoalescingProperties(
+        @DefaultValue("false") boolean enabled
+) {}
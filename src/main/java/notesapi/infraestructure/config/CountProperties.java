@@ -0,0 +1,13 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notes.count")
+public record CountProperties(
+        @DefaultValue("exact") String strategy,
+        @DefaultValue("5s") Duration cacheTtl,
+        @DefaultValue("10000") long cacheSize
+) {}
@@ -0,0 +1,9 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "notes.export")
+public record ExportProperties(
+        @DefaultValue("500") int batchSize
+) {}
@@ -0,0 +1,87 @@
+package notesapi.infraestructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.infraestructure.repository.BatchingNoteRepository;
+import notesapi.infraestructure.repository.CachingNoteRepository;
+import notesapi.infraestructure.repository.CachingNoteSearchIndex;
+import notesapi.infraestructure.repository.CoalescingNoteRepository;
+import notesapi.infraestructure.repository.CoalescingNoteSearchIndex;
+import notesapi.infraestructure.repository.MeteredNoteRepository;
+import notesapi.infraestructure.repository.MeteredNoteSearchIndex;
+import notesapi.infraestructure.repository.SearchCacheEvictingNoteRepository;
+import notesapi.infraestructure.repository.SearchResultCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+@Configuration
+public class NoteRepositoryConfig {
+
+    public static final String ENGINE = "engine";
+
+    private final Disposable.Composite decorators = Disposables.composite();
+
+    @Bean
+    @Primary
+    public NoteRepository noteRepository(@Qualifier(ENGINE) NoteRepository engine,
+                                         NoteCacheProperties cacheProperties,
+                                         WriteBatchingProperties batchingProperties,
+                                         CoalescingProperties coalescingProperties,
+                                         ObjectProvider<SearchResultCache> searchResultCache,
+                                         MeterRegistry meterRegistry) {
+        NoteRepository repository = new MeteredNoteRepository(engine, meterRegistry);
+        if (batchingProperties.enabled()) {
+            BatchingNoteRepository batching = new BatchingNoteRepository(repository, batchingProperties);
+            decorators.add(batching);
+            repository = batching;
+        }
+        if (coalescingProperties.enabled()) {
+            repository = new CoalescingNoteRepository(repository, !cacheProperties.enabled(), meterRegistry);
+        }
+        SearchResultCache searchCache = searchResultCache.getIfAvailable();
+        if (searchCache != null) {
+            repository = new SearchCacheEvictingNoteRepository(repository, searchCache);
+        }
+        if (cacheProperties.enabled()) {
+            repository = new CachingNoteRepository(repository, cacheProperties);
+        }
+        return repository;
+    }
+
+    @Bean
+    @Primary
+    public NoteSearchIndex noteSearchIndex(@Qualifier(ENGINE) NoteSearchIndex engine,
+                                           NoteRepository noteRepository,
+                                           CoalescingProperties coalescingProperties,
+                                           ObjectProvider<SearchResultCache> searchResultCache,
+                                           MeterRegistry meterRegistry) {
+        NoteSearchIndex searchIndex = new MeteredNoteSearchIndex(engine, meterRegistry);
+        if (coalescingProperties.enabled()) {
+            searchIndex = new CoalescingNoteSearchIndex(searchIndex, meterRegistry);
+        }
+        SearchResultCache searchCache = searchResultCache.getIfAvailable();
+        if (searchCache != null) {
+            searchIndex = new CachingNoteSearchIndex(searchIndex, noteRepository, searchCache);
+        }
+        return searchIndex;
+    }
+
+    @PreDestroy
+    public void close() {
+        decorators.dispose();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notes.search-cache.enabled", havingValue = "true")
+    public SearchResultCache searchResultCache(SearchCacheProperties properties) {
+        return new SearchResultCache(properties);
+    }
+}
@@ -0,0 +1,24 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "notes.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int capacity,
+        @DefaultValue("50") int refillPerSecond,
+        @DefaultValue("X-API-Key") String apiKeyHeader,
+        @DefaultValue Set<String> apiKeys,
+        @DefaultValue("/actuator/**") List<String> excludedPaths,
+        @DefaultValue({"/notes/search", "/notes/_bulk", "/notes/_mget"}) List<String> expensivePaths,
+        @DefaultValue("/notes/_export") List<String> streamingPaths,
+        @DefaultValue("5") int expensiveCost,
+        @DefaultValue("16") int maxConcurrentExpensive,
+        @DefaultValue("4") int maxConcurrentStreaming,
+        @DefaultValue("10m") Duration idleTimeout
+) {}
@@ -0,0 +1,15 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notes.repository")
+public record RepositoryProperties(
+        @DefaultValue("mongo") String engine,
+        @DefaultValue("reactive") String driver,
+        Path dataDirectory,
+        @DefaultValue("5m") Duration snapshotInterval
+) {}
@@ -0,0 +1,13 @@
+package notesapi.infraestructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notes.write-batching")
+public record WriteBatchingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int maxSize,
+        @DefaultValue("5ms") Duration maxDelay
+) {}
@@ -0,0 +1,124 @@
+package notesapi.infraestructure.controller;
+
+import notesapi.application.dto.response.NoteResponse;
+import notesapi.application.dto.response.PaginatedResponse;
+import notesapi.domain.exception.NoteVersionMismatchException;
+import notesapi.domain.model.Note;
+import notesapi.infraestructure.config.WebConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class NoteETag {
+
+    // JSON, CBOR and Smile are served from the same URLs, so every format gets its own ETag. They are listed in
+    // the order the codecs are registered, which breaks ties between equally accepted formats
+    private static final Map<MediaType, String> REPRESENTATIONS = new LinkedHashMap<>();
+
+    static {
+        REPRESENTATIONS.put(MediaType.APPLICATION_JSON, "");
+        REPRESENTATIONS.put(MediaType.APPLICATION_CBOR, "+cbor");
+        REPRESENTATIONS.put(WebConfig.APPLICATION_SMILE, "+smile");
+    }
+
+    private NoteETag() {
+    }
+
+    public static String of(Note note, MediaType representation) {
+        return quote(note.getId() + "-" + versionOf(note.getVersion()) + REPRESENTATIONS.getOrDefault(representation, ""));
+    }
+
+    public static String of(PaginatedResponse page, MediaType representation) {
+        StringBuilder fingerprint = new StringBuilder(representation.toString()).append('|')
+                .append(page.currentPage()).append('|')
+                .append(page.pageSize()).append('|')
+                .append(page.totalItems()).append('|')
+                .append(page.nextCursor()).append('|')
+                .append(page.prevCursor());
+        for (NoteResponse item : page.items()) {
+            fingerprint.append('|').append(item.id()).append('@').append(versionOf(item.version()));
+        }
+        return quote(DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static MediaType representation(ServerHttpRequest request) {
+        List<MediaType> accepted = new ArrayList<>(request.getHeaders().getAccept());
+        if (accepted.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        MediaType selected = MediaType.APPLICATION_JSON;
+        double selectedQuality = 0;
+        for (MediaType acceptable : accepted) {
+            for (MediaType representation : REPRESENTATIONS.keySet()) {
+                if (acceptable.isCompatibleWith(representation) && acceptable.getQualityValue() > selectedQuality) {
+                    selected = representation;
+                    selectedQuality = acceptable.getQualityValue();
+                }
+            }
+        }
+        return selected;
+    }
+
+    public static Instant lastModified(Note note) {
+        LocalDateTime modifiedAt = note.getUpdatedAt() != null ? note.getUpdatedAt() : note.getCreatedAt();
+        return modifiedAt != null ? modifiedAt.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    public static Long expectedVersion(String id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String prefix = id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (value.startsWith(prefix)) {
+                String version = value.substring(prefix.length());
+                int suffix = version.indexOf('+');
+                try {
+                    return Long.parseLong(suffix >= 0 ? version.substring(0, suffix) : version);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        throw new NoteVersionMismatchException(id);
+    }
+
+    public static boolean isConditional(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    public static boolean checkNotModified(ServerWebExchange exchange, Note note) {
+        String eTag = of(note, representation(exchange.getRequest()));
+        Instant lastModified = lastModified(note);
+        return lastModified != null
+                ? exchange.checkNotModified(eTag, lastModified)
+                : exchange.checkNotModified(eTag);
+    }
+
+    private static long versionOf(Long version) {
+        return version != null ? version : 0L;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -1,61 +1,158 @@
 package notesapi.infraestructure.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import notesapi.application.dto.request.BulkNoteRequest;
+import notesapi.application.dto.request.MultiGetRequest;
 import notesapi.application.dto.request.NoteRequest;
+import notesapi.application.dto.response.BulkItemResponse;
+import notesapi.application.dto.response.FieldValidationError;
+import notesapi.application.dto.response.MultiGetResponse;
+import notesapi.application.dto.response.NoteChangeResponse;
 import notesapi.application.dto.response.NoteResponse;
 import notesapi.application.dto.response.PaginatedResponse;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteProjection;
 import notesapi.domain.service.NoteService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/notes")
 @Tag(name = "Notes", description = "API for managing notes")
 public class NotesController {
 
+    private static final String CURSOR_DESCRIPTION =
+            "Switches to cursor pagination. Leave empty for the first page, then pass nextCursor or prevCursor";
+    private static final String WITH_TOTAL_DESCRIPTION =
+            "Set to false to skip counting totalItems and totalPages";
+    private static final String RESUME_TOKEN_DESCRIPTION =
+            "Id of the last event received. Changes after it are replayed before live ones. Defaults to Last-Event-ID";
+    private static final String MATCH_DESCRIPTION =
+            "Whether notes must carry all of the given tags or any of them";
+    private static final String FIELDS_DESCRIPTION =
+            "Fields to return for each note, e.g. id,title,tags,updatedAt. contentPreview returns the start of the content. id and version are always returned";
+    private static final String PREVIEW_LENGTH_DESCRIPTION =
+            "Maximum number of characters in contentPreview";
+    private static final String IF_MATCH_DESCRIPTION =
+            "ETag of the note version being changed. The request fails with 412 if the note changed since";
+
     private final NoteService noteService;
+    private final Validator validator;
 
-    public NotesController(NoteService noteService) {
+    public NotesController(NoteService noteService, Validator validator) {
         this.noteService = noteService;
+        this.validator = validator;
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get note by ID")
-    public Mono<ResponseEntity<NoteResponse>> getNoteById(@PathVariable String id) {
-        return noteService.findById(id)
-                .map(NoteResponse::from)
-                .map(ResponseEntity::ok);
+    public Mono<ResponseEntity<NoteResponse>> getNoteById(@PathVariable String id, ServerWebExchange exchange) {
+        MediaType representation = NoteETag.representation(exchange.getRequest());
+        if (!NoteETag.isConditional(exchange.getRequest())) {
+            return noteService.findById(id).map(note -> toResponse(note, representation));
+        }
+
+        return noteService.findMetadataById(id)
+                .flatMap(metadata -> NoteETag.checkNotModified(exchange, metadata)
+                        ? Mono.just(notModified(metadata, representation))
+                        : noteService.findById(id).map(note -> toResponse(note, representation)));
+    }
+
+    @PostMapping("/_mget")
+    @Operation(summary = "Get many notes by ID")
+    public Mono<MultiGetResponse> getNotesById(@Valid @RequestBody MultiGetRequest request) {
+        return noteService.findAllById(request.ids())
+                .map(notes -> MultiGetResponse.of(request.ids(), notes));
     }
 
     @GetMapping
     @Operation(summary = "Get all notes")
     public Mono<ResponseEntity<PaginatedResponse>> getAllNotes(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = WITH_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(required = false) List<String> tags,
+            @Parameter(description = MATCH_DESCRIPTION) @RequestParam(defaultValue = "any") NoteFilter.TagMatch match,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields,
+            @Parameter(description = PREVIEW_LENGTH_DESCRIPTION) @RequestParam(defaultValue = "200") int previewLength,
+            ServerWebExchange exchange
+    ) {
+        MediaType representation = NoteETag.representation(exchange.getRequest());
+        NoteFilter filter = NoteFilter.tagged(tags, match);
+        NoteProjection projection = NoteProjection.of(fields, previewLength);
+        if (cursor != null) {
+            return noteService.findAll(filter, projection, NoteCursor.decode(cursor), size)
+                    .map(slice -> toResponse(PaginatedResponse.of(slice, size, projection), representation));
+        }
+
+        Mono<List<NoteResponse>> notes = noteService.findAll(filter, projection, page, size)
+                .map(note -> NoteResponse.from(note, projection))
+                .collectList();
+        if (!withTotal) {
+            return notes.map(items -> toResponse(PaginatedResponse.of(items, page, size), representation));
+        }
+
+        return notes.zipWith(noteService.count(filter))
+                .map(tuple -> toResponse(PaginatedResponse.of(tuple.getT1(), page, size, tuple.getT2()), representation));
+    }
+
+    @GetMapping(value = "/_export", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Stream all notes, optionally filtered by tags or last update")
+    public Flux<NoteResponse> exportNotes(
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince
     ) {
-        return noteService.findAll(page, size)
-                .map(NoteResponse::from)
-                .collectList()
-                .zipWith(noteService.count())
-                .map(tuple -> {
-                    List<NoteResponse> notes = tuple.getT1();
-                    long totalItems = tuple.getT2();
-                    int totalPages = (int) Math.ceil((double) totalItems / size);
-                    return ResponseEntity.ok(new PaginatedResponse(notes, page, size, totalItems, totalPages));
-                });
+        return noteService.export(new NoteFilter(tags, updatedSince))
+                .map(NoteResponse::from);
+    }
+
+    @GetMapping(value = "/_changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream note changes as Server-Sent Events")
+    public Flux<ServerSentEvent<NoteChangeResponse>> streamChanges(
+            @RequestParam(required = false) List<String> tags,
+            @Parameter(description = RESUME_TOKEN_DESCRIPTION) @RequestParam(required = false) String resumeToken,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return noteService.changes(resumeToken != null ? resumeToken : lastEventId, tags)
+                .map(change -> change.isReset()
+                        ? ServerSentEvent.builder(NoteChangeResponse.reset())
+                                .id(change.token())
+                                .event(NoteChangeResponse.RESET)
+                                .build()
+                        : ServerSentEvent.builder(NoteChangeResponse.from(change))
+                                .id(change.token())
+                                .event(change.type().name().toLowerCase(Locale.ROOT))
+                                .build())
+                .startWith(ServerSentEvent.<NoteChangeResponse>builder().comment("connected").build());
     }
 
     @GetMapping("/search")
@@ -63,43 +160,105 @@ public class NotesController {
     public Mono<ResponseEntity<PaginatedResponse>> searchNotes(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = WITH_TOTAL_DESCRIPTION) @RequestParam(defaultValue = "true") boolean withTotal,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields,
+            @Parameter(description = PREVIEW_LENGTH_DESCRIPTION) @RequestParam(defaultValue = "200") int previewLength,
+            ServerWebExchange exchange
     ) {
-        return noteService.search(keyword, page, size)
-                .map(NoteResponse::from)
-                .collectList()
-                .zipWith(noteService.countByKeyword(keyword))
-                .map(tuple -> {
-                    List<NoteResponse> notes = tuple.getT1();
-                    long totalItems = tuple.getT2();
-                    int totalPages = (int) Math.ceil((double) totalItems / size);
-                    return ResponseEntity.ok(new PaginatedResponse(notes, page, size, totalItems, totalPages));
-                });
+        MediaType representation = NoteETag.representation(exchange.getRequest());
+        NoteProjection projection = NoteProjection.of(fields, previewLength);
+        if (cursor != null) {
+            return noteService.search(keyword, projection, NoteCursor.decode(cursor), size)
+                    .map(slice -> toResponse(PaginatedResponse.of(slice, size, projection), representation));
+        }
+
+        Mono<List<NoteResponse>> notes = noteService.search(keyword, projection, page, size)
+                .map(note -> NoteResponse.from(note, projection))
+                .collectList();
+        if (!withTotal) {
+            return notes.map(items -> toResponse(PaginatedResponse.of(items, page, size), representation));
+        }
+
+        return notes.zipWith(noteService.countByKeyword(keyword))
+                .map(tuple -> toResponse(PaginatedResponse.of(tuple.getT1(), page, size, tuple.getT2()), representation));
     }
 
     @PostMapping
     @Operation(summary = "Create a note")
-    public Mono<ResponseEntity<NoteResponse>> createNote(@Valid @RequestBody NoteRequest request) {
+    public Mono<ResponseEntity<NoteResponse>> createNote(@Valid @RequestBody NoteRequest request, ServerWebExchange exchange) {
+        MediaType representation = NoteETag.representation(exchange.getRequest());
         return noteService.create(request.toNote())
-                .map(NoteResponse::from)
-                .map(ResponseEntity::ok);
+                .map(note -> toResponse(note, representation));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update note")
     public Mono<ResponseEntity<NoteResponse>> updateNote(
             @Valid @RequestBody NoteRequest request,
-            @PathVariable String id
+            @PathVariable String id,
+            @Parameter(description = IF_MATCH_DESCRIPTION) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            ServerWebExchange exchange
     ) {
-        return noteService.update(request.toNote(), id)
-                .map(NoteResponse::from)
-                .map(ResponseEntity::ok);
+        Long expectedVersion = NoteETag.expectedVersion(id, ifMatch);
+        MediaType representation = NoteETag.representation(exchange.getRequest());
+        return noteService.update(request.toNote(), id, expectedVersion)
+                .map(note -> toResponse(note, representation));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete note by ID")
-    public Mono<ResponseEntity<Void>> deleteNoteById(@PathVariable String id) {
-        return noteService.deleteById(id)
+    public Mono<ResponseEntity<Void>> deleteNoteById(
+            @PathVariable String id,
+            @Parameter(description = IF_MATCH_DESCRIPTION) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Long expectedVersion = NoteETag.expectedVersion(id, ifMatch);
+        return noteService.deleteById(id, expectedVersion)
                 .then(Mono.just(ResponseEntity.noContent().build()));
     }
+
+    @PostMapping(
+            value = "/_bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(summary = "Create, update and delete notes in bulk")
+    public Flux<BulkItemResponse> bulkNotes(@RequestBody Flux<BulkNoteRequest> requests) {
+        return requests.index()
+                .map(request -> new BulkItem(request.getT1(), request.getT2(), request.getT2().validate(validator)))
+                .publish(items -> Flux.merge(
+                        items.filter(BulkItem::isInvalid)
+                                .map(item -> BulkItemResponse.invalid(item.index(), item.request().id(), item.errors())),
+                        noteService.bulk(items.filter(item -> !item.isInvalid())
+                                        .map(item -> item.request().toOperation(item.index())))
+                                .map(BulkItemResponse::from)));
+    }
+
+    private ResponseEntity<NoteResponse> toResponse(Note note, MediaType representation) {
+        return withValidators(ResponseEntity.ok(), note, representation).body(NoteResponse.from(note));
+    }
+
+    private ResponseEntity<NoteResponse> notModified(Note note, MediaType representation) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), note, representation).build();
+    }
+
+    private ResponseEntity<PaginatedResponse> toResponse(PaginatedResponse page, MediaType representation) {
+        return ResponseEntity.ok()
+                .eTag(NoteETag.of(page, representation))
+                .body(page);
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B withValidators(B builder, Note note, MediaType representation) {
+        builder.eTag(NoteETag.of(note, representation));
+        Instant lastModified = NoteETag.lastModified(note);
+        return lastModified != null ? builder.lastModified(lastModified) : builder;
+    }
+
+    private record BulkItem(long index, BulkNoteRequest request, List<FieldValidationError> errors) {
+
+        boolean isInvalid() {
+            return !errors.isEmpty();
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package notesapi.infraestructure.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import notesapi.application.dto.response.TagResponse;
+import notesapi.domain.service.NoteService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/tags")
+@Tag(name = "Tags", description = "API for browsing note tags")
+public class TagsController {
+
+    private final NoteService noteService;
+
+    public TagsController(NoteService noteService) {
+        this.noteService = noteService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List tags with the number of notes carrying each, most used first")
+    public Flux<TagResponse> getTags() {
+        return noteService.tags().map(TagResponse::from);
+    }
+}
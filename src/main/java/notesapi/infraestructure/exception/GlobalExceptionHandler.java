@@ -1,6 +1,10 @@
 package notesapi.infraestructure.exception;
 
+import notesapi.domain.exception.InvalidCursorException;
+import notesapi.domain.exception.InvalidFieldsException;
+import notesapi.domain.exception.InvalidResumeTokenException;
 import notesapi.domain.exception.NoteNotFoundException;
+import notesapi.domain.exception.NoteVersionMismatchException;
 import notesapi.application.dto.response.ErrorResponse;
 import notesapi.application.dto.response.FieldValidationError;
 import notesapi.application.dto.response.ValidationErrorResponse;
@@ -52,4 +56,28 @@ public class GlobalExceptionHandler {
         ErrorResponse response = new ErrorResponse(error, message);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse response = new ErrorResponse("Invalid cursor", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFields(InvalidFieldsException ex) {
+        ErrorResponse response = new ErrorResponse("Invalid fields", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(InvalidResumeTokenException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidResumeToken(InvalidResumeTokenException ex) {
+        ErrorResponse response = new ErrorResponse("Invalid resume token", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(NoteVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatch(NoteVersionMismatchException ex) {
+        ErrorResponse response = new ErrorResponse("Precondition failed", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+    }
 }
@@ -0,0 +1,32 @@
+package notesapi.infraestructure.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrencyLimit {
+
+    private final int maximum;
+    private final AtomicInteger running = new AtomicInteger();
+
+    public ConcurrencyLimit(int maximum) {
+        if (maximum < 1) {
+            throw new IllegalArgumentException("Concurrency limits must be positive");
+        }
+        this.maximum = maximum;
+    }
+
+    public boolean tryEnter() {
+        while (true) {
+            int current = running.get();
+            if (current >= maximum) {
+                return false;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void leave() {
+        running.decrementAndGet();
+    }
+}
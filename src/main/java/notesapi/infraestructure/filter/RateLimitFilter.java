@@ -0,0 +1,128 @@
+package notesapi.infraestructure.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import notesapi.application.dto.response.ErrorResponse;
+import notesapi.infraestructure.config.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "notes.rate-limit.enabled", havingValue = "true")
+public class RateLimitFilter implements WebFilter {
+
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final List<PathPattern> expensivePaths;
+    private final List<PathPattern> streamingPaths;
+    private final List<PathPattern> excludedPaths;
+    private final ConcurrencyLimit expensiveLimit;
+    private final ConcurrencyLimit streamingLimit;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        if (properties.expensiveCost() > properties.capacity()) {
+            throw new IllegalArgumentException("The cost of expensive requests cannot exceed the rate limit capacity");
+        }
+        this.properties = properties;
+        this.rateLimiter = new TokenBucketRateLimiter(
+                properties.capacity(), properties.refillPerSecond(), properties.idleTimeout(), System::nanoTime);
+        this.expensivePaths = parse(properties.expensivePaths());
+        this.streamingPaths = parse(properties.streamingPaths());
+        this.excludedPaths = parse(properties.excludedPaths());
+        this.expensiveLimit = new ConcurrencyLimit(properties.maxConcurrentExpensive());
+        this.streamingLimit = new ConcurrencyLimit(properties.maxConcurrentStreaming());
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Streams hold their slot for as long as the client keeps reading, so they get their own pool and a few slow
+    // exports cannot lock everyone out of search
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (matches(excludedPaths, request)) {
+            return chain.filter(exchange);
+        }
+        ConcurrencyLimit limit = matches(streamingPaths, request) ? streamingLimit
+                : matches(expensivePaths, request) ? expensiveLimit
+                : null;
+        if (limit != null && !limit.tryEnter()) {
+            return reject(exchange, "concurrency", BUSY_RETRY_AFTER, "Too many expensive requests are running, try again later");
+        }
+
+        Duration retryAfter = rateLimiter.tryAcquire(client(request), limit != null ? properties.expensiveCost() : 1);
+        if (!retryAfter.isZero()) {
+            if (limit != null) {
+                limit.leave();
+            }
+            return reject(exchange, "rate", retryAfter, "Rate limit exceeded, try again later");
+        }
+
+        return limit != null
+                ? chain.filter(exchange).doFinally(signal -> limit.leave())
+                : chain.filter(exchange);
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    private static boolean matches(List<PathPattern> patterns, ServerHttpRequest request) {
+        return patterns.stream().anyMatch(pattern -> pattern.matches(request.getPath().pathWithinApplication()));
+    }
+
+    // The API key header is not authenticated, so only configured keys get their own bucket. Any other key could
+    // be changed on every request to get a fresh one, so those requests are limited by IP address. Behind a proxy
+    // the remote address is the client's only when server.forward-headers-strategy rewrites it from the forwarded
+    // headers, and that address is left unresolved
+    private String client(ServerHttpRequest request) {
+        String apiKey = request.getHeaders().getFirst(properties.apiKeyHeader());
+        if (apiKey != null && properties.apiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        return "ip:" + (address != null ? address.getHostString() : "unknown");
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String reason, Duration retryAfter, String message) {
+        meterRegistry.counter("notes.rate_limit.rejected", "reason", reason).increment();
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(retryAfter)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse("Too many requests", message));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    private static long retryAfterSeconds(Duration retryAfter) {
+        long seconds = retryAfter.toSeconds();
+        return retryAfter.equals(Duration.ofSeconds(seconds)) ? Math.max(seconds, 1) : seconds + 1;
+    }
+}
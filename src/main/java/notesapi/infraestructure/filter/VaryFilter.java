@@ -0,0 +1,42 @@
+package notesapi.infraestructure.filter;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The same URLs answer with JSON, CBOR, Smile or a stream depending on Accept, and compressed or not depending on
+// Accept-Encoding, while the ETag only follows the format. Caches have to key on both
+@Component
+public class VaryFilter implements WebFilter {
+
+    private final List<String> varied;
+
+    public VaryFilter(ServerProperties serverProperties) {
+        this.varied = serverProperties.getCompression().getEnabled()
+                ? List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                : List.of(HttpHeaders.ACCEPT);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        exchange.getResponse().beforeCommit(() -> {
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            List<String> vary = new ArrayList<>(headers.getVary());
+            for (String header : varied) {
+                if (vary.stream().noneMatch(header::equalsIgnoreCase)) {
+                    vary.add(header);
+                }
+            }
+            headers.setVary(vary);
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+}
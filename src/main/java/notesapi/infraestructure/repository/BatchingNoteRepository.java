@@ -0,0 +1,183 @@
+package notesapi.infraestructure.repository;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.WriteBatchingProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public class BatchingNoteRepository implements NoteRepository, Disposable {
+
+    private static final Sinks.EmitFailureHandler RETRY_ON_CONTENTION =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+    private static final String NO_RESULT = "The batched insert returned no result for this note";
+    private static final String CLOSED = "The note repository was closed before the note was inserted";
+
+    private final NoteRepository delegate;
+    private final Sinks.Many<PendingInsert> inserts = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable batches;
+
+    public BatchingNoteRepository(NoteRepository delegate, WriteBatchingProperties properties) {
+        this.delegate = delegate;
+        this.batches = inserts.asFlux()
+                .bufferTimeout(properties.maxSize(), properties.maxDelay(), true)
+                .concatMap(this::insertAll)
+                .doOnDiscard(PendingInsert.class, insert -> insert.fail(new DataAccessResourceFailureException(CLOSED)))
+                .subscribe();
+    }
+
+    // Inserts still waiting for a batch are failed rather than left hanging
+    @Override
+    public void dispose() {
+        batches.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return batches.isDisposed();
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        if (note.getId() != null || batches.isDisposed()) {
+            return delegate.save(note);
+        }
+        return Mono.defer(() -> {
+            PendingInsert insert = new PendingInsert(note, Sinks.one());
+            inserts.emitNext(insert, RETRY_ON_CONTENTION);
+            return insert.result().asMono();
+        });
+    }
+
+    private Mono<Void> insertAll(List<PendingInsert> batch) {
+        Flux<NoteOperation> operations = Flux.range(0, batch.size())
+                .map(index -> new NoteOperation(index, NoteOperation.Type.CREATE, null, batch.get(index).note()));
+
+        return delegate.bulkWrite(operations)
+                .doOnNext(result -> batch.get((int) result.index()).complete(result))
+                .then()
+                .onErrorResume(error -> {
+                    batch.forEach(insert -> insert.fail(error));
+                    return Mono.empty();
+                })
+                .doFinally(signal -> batch.forEach(insert -> insert.fail(new DataAccessResourceFailureException(NO_RESULT))));
+    }
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return delegate.findMetadataById(id);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return delegate.findAllById(ids, projection);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return delegate.deleteAll();
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id);
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return delegate.findAndUpdate(id, expectedVersion, changes);
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return delegate.findAndDeleteById(id, expectedVersion);
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return delegate.findAll(cursor, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return delegate.findAll(filter);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return delegate.findAll(filter, projection, page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return delegate.findAll(filter, projection, cursor, size);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return delegate.estimatedCount();
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return delegate.bulkWrite(operations);
+    }
+
+    private record PendingInsert(Note note, Sinks.One<Note> result) {
+
+        void complete(NoteOperationResult written) {
+            if (written.status() == NoteOperationResult.Status.CREATED) {
+                result.tryEmitValue(written.note());
+            } else {
+                fail(new DataAccessResourceFailureException(written.error()));
+            }
+        }
+
+        // Has no effect once the insert got its result
+        void fail(Throwable error) {
+            result.tryEmitError(error);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package notesapi.infraestructure.repository;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.BlockingMongoConfig;
+import notesapi.infraestructure.config.BulkProperties;
+import notesapi.infraestructure.config.ExportProperties;
+import notesapi.infraestructure.config.NoteRepositoryConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Repository
+@Qualifier(NoteRepositoryConfig.ENGINE)
+@ConditionalOnExpression("'${notes.repository.engine:mongo}' == 'mongo' and '${notes.repository.driver:reactive}' == 'blocking'")
+public class BlockingMongoNoteRepository implements NoteRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final BulkProperties bulkProperties;
+    private final ExportProperties exportProperties;
+    private final Scheduler scheduler;
+
+    public BlockingMongoNoteRepository(MongoTemplate mongoTemplate,
+                                       BulkProperties bulkProperties,
+                                       ExportProperties exportProperties,
+                                       @Qualifier(BlockingMongoConfig.VIRTUAL_THREADS) Scheduler scheduler) {
+        this.mongoTemplate = mongoTemplate;
+        this.bulkProperties = bulkProperties;
+        this.exportProperties = exportProperties;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return call(() -> mongoTemplate.findById(id, Note.class));
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        Query query = NoteQueries.byId(id);
+        query.fields().include("createdAt", "updatedAt", "version");
+        return call(() -> mongoTemplate.findOne(query, Note.class));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return list(() -> mongoTemplate.find(NoteQueries.byIds(ids), Note.class));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return list(() -> mongoTemplate.find(NoteQueries.project(NoteQueries.byIds(ids), projection), Note.class));
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return call(() -> mongoTemplate.save(note));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return run(() -> mongoTemplate.remove(new Query(), Note.class));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return run(() -> mongoTemplate.remove(NoteQueries.byId(id), Note.class));
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        Query query = NoteQueries.byIdAndVersion(id, expectedVersion);
+        return call(() -> mongoTemplate.findAndModify(query, NoteQueries.contentUpdate(changes), Note.class));
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return call(() -> mongoTemplate.findAndRemove(NoteQueries.byIdAndVersion(id, expectedVersion), Note.class));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return call(() -> mongoTemplate.count(new Query(), Note.class));
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return call(() -> mongoTemplate.count(NoteQueries.filter(filter), Note.class));
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return call(() -> mongoTemplate.estimatedCount(Note.class));
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return stream(() -> mongoTemplate.stream(new Query(), Note.class));
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return findAll(NoteFilter.none(), NoteProjection.full(), page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return findAll(NoteFilter.none(), NoteProjection.full(), cursor, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        Query query = NoteQueries.page(NoteQueries.filter(filter), page, size)
+                .with(NoteQueries.NEWEST_FIRST);
+
+        return list(() -> mongoTemplate.find(NoteQueries.project(query, projection), Note.class));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        Query query = NoteQueries.keyset(NoteQueries.filter(filter), cursor, size);
+        return list(() -> mongoTemplate.find(NoteQueries.project(query, projection), Note.class));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        Query query = NoteQueries.filter(filter)
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(exportProperties.batchSize());
+
+        return stream(() -> mongoTemplate.stream(query, Note.class));
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return operations.buffer(bulkProperties.chunkSize())
+                .concatMap(chunk -> call(() -> bulkWrite(chunk)).flatMapIterable(results -> results));
+    }
+
+    private List<NoteOperationResult> bulkWrite(List<NoteOperation> chunk) {
+        NoteBulkWrites.Plan plan = NoteBulkWrites.plan(chunk, findExisting(chunk));
+        if (plan.planned().isEmpty()) {
+            return plan.skipped();
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(plan.mode(), Note.class);
+        for (NoteOperationResult result : plan.planned()) {
+            switch (result.status()) {
+                case CREATED -> bulkOps.insert(result.note());
+                case UPDATED -> bulkOps.updateOne(NoteBulkWrites.updateQuery(result), NoteQueries.contentUpdate(result.note()));
+                case DELETED -> bulkOps.remove(NoteQueries.byId(result.id()));
+            }
+        }
+
+        NoteBulkWrites.Outcome outcome;
+        try {
+            outcome = NoteBulkWrites.written(plan, bulkOps.execute());
+        } catch (RuntimeException error) {
+            outcome = NoteBulkWrites.failed(plan, error);
+        }
+
+        List<NoteOperationResult> results = new ArrayList<>(plan.skipped());
+        results.addAll(confirm(outcome));
+        return results;
+    }
+
+    private List<NoteOperationResult> confirm(NoteBulkWrites.Outcome outcome) {
+        List<String> ids = outcome.unconfirmedUpdates();
+        if (ids.isEmpty()) {
+            return outcome.results();
+        }
+        Map<String, Note> stored = new HashMap<>();
+        mongoTemplate.find(NoteQueries.byIds(ids), Note.class)
+                .forEach(note -> stored.put(note.getId(), note));
+        return outcome.confirm(stored);
+    }
+
+    private Map<String, Note> findExisting(List<NoteOperation> chunk) {
+        List<String> ids = NoteBulkWrites.existingIds(chunk);
+        Map<String, Note> existing = new HashMap<>();
+        if (!ids.isEmpty()) {
+            mongoTemplate.find(new Query(Criteria.where("id").in(ids)), Note.class)
+                    .forEach(note -> existing.put(note.getId(), note));
+        }
+        return existing;
+    }
+
+    private <T> Mono<T> call(Callable<T> query) {
+        return Mono.fromCallable(query).subscribeOn(scheduler);
+    }
+
+    private Mono<Void> run(Runnable command) {
+        return Mono.<Void>fromRunnable(command).subscribeOn(scheduler);
+    }
+
+    private Flux<Note> list(Callable<List<Note>> query) {
+        return call(query).flatMapIterable(notes -> notes);
+    }
+
+    private Flux<Note> stream(Supplier<Stream<? extends Note>> query) {
+        return Flux.fromStream(query).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,61 @@
+package notesapi.infraestructure.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.repository.NoteCounter;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.infraestructure.config.CountProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "notes.count.strategy", havingValue = "cached")
+public class CachedNoteCounter implements NoteCounter, MeterBinder {
+
+    private static final String TOTAL_KEY = "";
+
+    private final NoteRepository noteRepository;
+    private final NoteSearchIndex noteSearchIndex;
+    private final AsyncCache<String, Long> counts;
+
+    public CachedNoteCounter(NoteRepository noteRepository, NoteSearchIndex noteSearchIndex, CountProperties properties) {
+        this.noteRepository = noteRepository;
+        this.noteSearchIndex = noteSearchIndex;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.cacheTtl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, counts, "note-counts");
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return cached(TOTAL_KEY, noteRepository.count());
+    }
+
+    @Override
+    public Mono<Long> countByKeyword(String keyword) {
+        return cached(keyword, noteSearchIndex.count(keyword));
+    }
+
+    @EventListener
+    public void onNoteChanged(NoteChangedEvent event) {
+        counts.synchronous().invalidateAll();
+    }
+
+    private Mono<Long> cached(String key, Mono<Long> loader) {
+        return Mono.fromFuture(() -> counts.get(key, (ignored, executor) -> loader.toFuture()), true);
+    }
+}
@@ -0,0 +1,225 @@
+package notesapi.infraestructure.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.NoteCacheProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class CachingNoteRepository implements NoteRepository, MeterBinder {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final NoteRepository delegate;
+    private final AsyncCache<String, Note> notes;
+
+    public CachingNoteRepository(NoteRepository delegate, NoteCacheProperties properties) {
+        this.delegate = delegate;
+        this.notes = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumSize().toBytes())
+                .weigher(CachingNoteRepository::weigh)
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public CacheStats stats() {
+        return notes.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, notes, "notes");
+    }
+
+    // Loads go through the async cache, so a write that invalidates the id while a load is pending drops that
+    // load instead of letting it put the older note back
+    @Override
+    public Mono<Note> findById(String id) {
+        return Mono.fromFuture(() -> notes.get(id, (key, executor) -> delegate.findById(key).toFuture()), true);
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return Mono.defer(() -> {
+            CompletableFuture<Note> cached = notes.getIfPresent(id);
+            return cached != null ? Mono.fromFuture(cached, true) : delegate.findMetadataById(id);
+        });
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return Mono.fromFuture(() -> notes.getAll(ids, (keys, executor) -> delegate.findAllById(List.copyOf(keys))
+                        .collectMap(Note::getId)
+                        .toFuture()), true)
+                .flatMapIterable(Map::values);
+    }
+
+    // Projected notes are never cached. Notes already cached in full are served as they are, since the projection
+    // is applied again when the response is built, and only the rest are read from the delegate with the projection
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        if (projection.isFull()) {
+            return findAllById(ids);
+        }
+        return Flux.defer(() -> {
+            List<Note> cached = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (String id : ids) {
+                Note note = cachedNow(id);
+                if (note != null) {
+                    cached.add(note);
+                } else {
+                    missing.add(id);
+                }
+            }
+            return missing.isEmpty()
+                    ? Flux.fromIterable(cached)
+                    : Flux.fromIterable(cached).concatWith(delegate.findAllById(missing, projection));
+        });
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return delegate.save(note)
+                .doOnNext(this::putIfNewer);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return invalidating(delegate.deleteAll(), () -> notes.synchronous().invalidateAll());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return invalidating(delegate.deleteById(id), () -> invalidate(id));
+    }
+
+    // Updates only know the note they asked for, not the one that ended up stored when several race for the
+    // same id, so they invalidate instead of writing through
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return invalidating(delegate.findAndUpdate(id, expectedVersion, changes), () -> invalidate(id));
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return invalidating(delegate.findAndDeleteById(id, expectedVersion), () -> invalidate(id));
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return delegate.findAll(cursor, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return delegate.findAll(filter);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return delegate.findAll(filter, projection, page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return delegate.findAll(filter, projection, cursor, size);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return delegate.estimatedCount();
+    }
+
+    // Bulk updates report the note they planned to write, not one read back, so only created notes are cached
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return delegate.bulkWrite(operations)
+                .doOnNext(result -> {
+                    switch (result.status()) {
+                        case CREATED -> putIfNewer(result.note());
+                        case UPDATED, DELETED, FAILED -> invalidate(result.id());
+                        default -> {
+                        }
+                    }
+                });
+    }
+
+    // Saves that finish out of order must not put an older version back over a newer one
+    private void putIfNewer(Note saved) {
+        notes.asMap().compute(saved.getId(), (id, cached) -> {
+            Note current = cached != null && cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+            return current != null && version(current) >= version(saved)
+                    ? cached
+                    : CompletableFuture.completedFuture(saved);
+        });
+    }
+
+    private void invalidate(String id) {
+        notes.synchronous().invalidate(id);
+    }
+
+    private Note cachedNow(String id) {
+        CompletableFuture<Note> cached = notes.getIfPresent(id);
+        return cached != null && cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+    }
+
+    private static long version(Note note) {
+        return note.getVersion() != null ? note.getVersion() : -1;
+    }
+
+    private static int weigh(String id, Note note) {
+        long chars = id.length() + length(note.getTitle()) + length(note.getContent());
+        if (note.getTags() != null) {
+            chars += note.getTags().stream().mapToLong(CachingNoteRepository::length).sum();
+        }
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * Character.BYTES);
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static <T> Mono<T> invalidating(Mono<T> write, Runnable invalidate) {
+        return write.doOnEach(signal -> invalidate.run())
+                .doOnCancel(invalidate);
+    }
+}
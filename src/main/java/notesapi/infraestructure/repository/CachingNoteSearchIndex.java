@@ -0,0 +1,76 @@
+package notesapi.infraestructure.repository;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class CachingNoteSearchIndex implements NoteSearchIndex {
+
+    private static final NoteProjection IDS_ONLY = NoteProjection.of(List.of("id"), NoteProjection.DEFAULT_PREVIEW_LENGTH);
+
+    private final NoteSearchIndex delegate;
+    private final NoteRepository noteRepository;
+    private final SearchResultCache cache;
+
+    public CachingNoteSearchIndex(NoteSearchIndex delegate, NoteRepository noteRepository, SearchResultCache cache) {
+        this.delegate = delegate;
+        this.noteRepository = noteRepository;
+        this.cache = cache;
+    }
+
+    // Only the ids of the results are cached. The notes are then read by id with the requested projection, so
+    // notes that are not in the note cache are still read with only the fields the response needs
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, int page, int size) {
+        return cache.page(keyword, page, size, ids(() -> delegate.search(keyword, IDS_ONLY, page, size)))
+                .flatMapMany(ids -> hydrate(ids, projection));
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, NoteCursor cursor, int size) {
+        return cache.slice(keyword, cursor, size, ids(() -> delegate.search(keyword, IDS_ONLY, cursor, size)))
+                .flatMapMany(ids -> hydrate(ids, projection));
+    }
+
+    @Override
+    public Mono<Long> count(String keyword) {
+        return cache.count(keyword, Mono.defer(() -> delegate.count(keyword)));
+    }
+
+    // Writes are evicted once, by SearchCacheEvictingNoteRepository, which sees both the old and the new note
+    @Override
+    public Mono<Void> index(Note note) {
+        return delegate.index(note);
+    }
+
+    @Override
+    public Mono<Void> remove(String id) {
+        return delegate.remove(id);
+    }
+
+    private static Mono<List<String>> ids(Supplier<Flux<Note>> notes) {
+        return Flux.defer(notes).map(Note::getId).collectList();
+    }
+
+    private Flux<Note> hydrate(List<String> ids, NoteProjection projection) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return noteRepository.findAllById(ids, projection)
+                .collectMap(Note::getId)
+                .flatMapIterable(notes -> ordered(ids, notes));
+    }
+
+    private static List<Note> ordered(List<String> ids, Map<String, Note> notes) {
+        return ids.stream().map(notes::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package notesapi.infraestructure.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public class CoalescingNoteRepository implements NoteRepository {
+
+    private final NoteRepository delegate;
+    private final RequestCoalescer coalescer;
+    private final boolean coalesceFindById;
+
+    public CoalescingNoteRepository(NoteRepository delegate, MeterRegistry registry) {
+        this(delegate, true, registry);
+    }
+
+    // The note cache already shares one load among concurrent misses of the same id, so findById is only
+    // coalesced here when the cache is off
+    public CoalescingNoteRepository(NoteRepository delegate, boolean coalesceFindById, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.coalescer = new RequestCoalescer(registry, "notes.repository.coalesced");
+        this.coalesceFindById = coalesceFindById;
+    }
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return coalesceFindById
+                ? coalescer.coalesce("findById", id, () -> delegate.findById(id))
+                : delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return coalescer.coalesce("findMetadataById", id, () -> delegate.findMetadataById(id));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return delegate.findAllById(ids, projection);
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return delegate.save(note)
+                .doOnNext(saved -> forget(saved.getId()));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return delegate.deleteAll().doFinally(signal -> coalescer.forgetAll());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id).doFinally(signal -> forget(id));
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return delegate.findAndUpdate(id, expectedVersion, changes).doFinally(signal -> forget(id));
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return delegate.findAndDeleteById(id, expectedVersion).doFinally(signal -> forget(id));
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return delegate.findAll(cursor, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return delegate.findAll(filter);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return delegate.findAll(filter, projection, page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return delegate.findAll(filter, projection, cursor, size);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return delegate.estimatedCount();
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return delegate.bulkWrite(operations)
+                .doOnNext(result -> forget(result.id()));
+    }
+
+    private void forget(String id) {
+        if (id != null) {
+            coalescer.forget("findById", id);
+            coalescer.forget("findMetadataById", id);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package notesapi.infraestructure.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteSearchIndex;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class CoalescingNoteSearchIndex implements NoteSearchIndex {
+
+    private final NoteSearchIndex delegate;
+    private final RequestCoalescer coalescer;
+
+    public CoalescingNoteSearchIndex(NoteSearchIndex delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.coalescer = new RequestCoalescer(registry, "notes.search.coalesced");
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, int page, int size) {
+        return coalescer.coalesceMany("searchPage", new PageSearch(keyword, projection, page, size),
+                () -> delegate.search(keyword, projection, page, size));
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, NoteCursor cursor, int size) {
+        return coalescer.coalesceMany("searchSlice", new SliceSearch(keyword, projection, cursor, size),
+                () -> delegate.search(keyword, projection, cursor, size));
+    }
+
+    @Override
+    public Mono<Long> count(String keyword) {
+        return coalescer.coalesce("count", keyword, () -> delegate.count(keyword));
+    }
+
+    @Override
+    public Mono<Void> index(Note note) {
+        return delegate.index(note).doFinally(signal -> coalescer.forgetAll());
+    }
+
+    @Override
+    public Mono<Void> remove(String id) {
+        return delegate.remove(id).doFinally(signal -> coalescer.forgetAll());
+    }
+
+    private record PageSearch(String keyword, NoteProjection projection, int page, int size) {}
+
+    private record SliceSearch(String keyword, NoteProjection projection, NoteCursor cursor, int size) {}
+}
@@ -0,0 +1,28 @@
+package notesapi.infraestructure.repository;
+
+import lombok.AllArgsConstructor;
+import notesapi.domain.repository.NoteCounter;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "notes.count.strategy", havingValue = "exact", matchIfMissing = true)
+public class ExactNoteCounter implements NoteCounter {
+
+    private final NoteRepository noteRepository;
+    private final NoteSearchIndex noteSearchIndex;
+
+    @Override
+    public Mono<Long> count() {
+        return noteRepository.count();
+    }
+
+    @Override
+    public Mono<Long> countByKeyword(String keyword) {
+        return noteSearchIndex.count(keyword);
+    }
+}
@@ -0,0 +1,98 @@
+package notesapi.infraestructure.repository;
+
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.exception.InvalidResumeTokenException;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteChange;
+import notesapi.domain.repository.NoteChangeFeed;
+import notesapi.infraestructure.config.ChangeFeedProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+@Repository
+@ConditionalOnProperty(name = "notes.changes.engine", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryNoteChangeFeed implements NoteChangeFeed {
+
+    private static final long OTHER_INSTANCE = -1;
+
+    private final String instance = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Sinks.Many<Entry> sink;
+    private long sequence;
+
+    public InMemoryNoteChangeFeed(ChangeFeedProperties properties) {
+        this.sink = Sinks.many().replay().limit(properties.replaySize());
+    }
+
+    @EventListener
+    public synchronized void onNoteChanged(NoteChangedEvent event) {
+        sequence++;
+        sink.tryEmitNext(new Entry(sequence, event));
+    }
+
+    // When the changes right after the token are gone, because they fell out of the replay window or were made
+    // on another instance, a reset is sent first so that the subscriber reloads the notes instead of missing them
+    @Override
+    public Flux<NoteChange> changes(String resumeToken, List<String> tags) {
+        return Flux.defer(() -> {
+            if (resumeToken == null) {
+                return matching(after(currentSequence()), tags);
+            }
+            long after = parse(resumeToken);
+            if (after == OTHER_INSTANCE) {
+                long current = currentSequence();
+                return Flux.just(reset(current)).concatWith(matching(after(current), tags));
+            }
+            return after(after).switchOnFirst((first, entries) -> first.hasValue() && first.get().sequence() > after + 1
+                    ? Flux.just(reset(first.get().sequence() - 1)).concatWith(matching(entries, tags))
+                    : matching(entries, tags));
+        });
+    }
+
+    private Flux<Entry> after(long after) {
+        return sink.asFlux().filter(entry -> entry.sequence() > after);
+    }
+
+    private Flux<NoteChange> matching(Flux<Entry> entries, List<String> tags) {
+        return entries
+                .filter(entry -> tags.isEmpty() || hasAnyTag(entry.event().previous(), tags)
+                        || hasAnyTag(entry.event().current(), tags))
+                .map(entry -> entry.toChange(instance));
+    }
+
+    private NoteChange reset(long after) {
+        return NoteChange.reset(instance + "." + after);
+    }
+
+    private synchronized long currentSequence() {
+        return sequence;
+    }
+
+    private long parse(String token) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            throw new InvalidResumeTokenException(token);
+        }
+        try {
+            long tokenSequence = Long.parseLong(token.substring(separator + 1));
+            return instance.equals(token.substring(0, separator)) ? tokenSequence : OTHER_INSTANCE;
+        } catch (NumberFormatException e) {
+            throw new InvalidResumeTokenException(token);
+        }
+    }
+
+    private static boolean hasAnyTag(Note note, List<String> tags) {
+        return note != null && note.getTags() != null && note.getTags().stream().anyMatch(tags::contains);
+    }
+
+    private record Entry(long sequence, NoteChangedEvent event) {
+
+        NoteChange toChange(String instance) {
+            return new NoteChange(instance + "." + sequence, event.type(), event.id(), event.current());
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package notesapi.infraestructure.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.NoteRepositoryConfig;
+import notesapi.infraestructure.config.RepositoryProperties;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Repository
+@Qualifier(NoteRepositoryConfig.ENGINE)
+@ConditionalOnProperty(name = "notes.repository.engine", havingValue = "in-memory")
+public class InMemoryNoteRepository implements NoteRepository {
+
+    private static final Comparator<Note> NEWEST_FIRST = InMemoryNoteSearchIndex.NEWEST_FIRST;
+
+    private final ConcurrentSkipListMap<String, Note> notes = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Note> newestFirst = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<String, Set<String>> idsByTag = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final RepositoryProperties properties;
+    private final Object writeLock = new Object();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private NoteJournal journal;
+    private Disposable snapshots;
+
+    public InMemoryNoteRepository(RepositoryProperties properties) {
+        this.properties = properties;
+    }
+
+    public interface Listener {
+        void stored(Note note);
+        void removed(String id);
+        void cleared();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (properties.dataDirectory() == null) {
+            return;
+        }
+        journal = new NoteJournal(properties.dataDirectory());
+        long replayed = journal.recover(this::put, this::remove, this::clear);
+        log.info("Loaded {} notes from {} ({} journal entries replayed)", size.get(), properties.dataDirectory(), replayed);
+
+        long interval = properties.snapshotInterval().toMillis();
+        snapshots = Schedulers.single().schedulePeriodically(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        snapshots.dispose();
+        snapshot();
+        journal.close();
+    }
+
+    public synchronized void snapshot() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            NoteJournal.Rotation rotation;
+            List<Note> copy;
+            synchronized (writeLock) {
+                rotation = journal.rotate();
+                copy = new ArrayList<>(notes.values());
+            }
+            journal.snapshot(rotation, copy);
+        } catch (IOException e) {
+            log.error("Could not write the notes snapshot", e);
+        }
+    }
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return Mono.fromSupplier(() -> notes.get(id));
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return findById(id);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return Flux.defer(() -> Flux.fromStream(ids.stream().map(notes::get).filter(Objects::nonNull)));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return findAllById(ids);
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return write(() -> {
+            Note existing = note.getId() != null ? notes.get(note.getId()) : null;
+            if (note.getVersion() == null) {
+                if (existing != null) {
+                    throw new DuplicateKeyException("A note with ID " + note.getId() + " already exists");
+                }
+                return store(note.toBuilder().id(note.getId() != null ? note.getId() : newId()).version(0L).build());
+            }
+            if (existing == null || !note.getVersion().equals(existing.getVersion())) {
+                throw new OptimisticLockingFailureException("Note with ID " + note.getId() + " was modified concurrently");
+            }
+            return store(note.toBuilder().version(note.getVersion() + 1).build());
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return write(() -> {
+            clear();
+            if (journal != null) {
+                journal.clear();
+            }
+            return null;
+        }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return write(() -> delete(id)).then();
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return write(() -> {
+            Note previous = notes.get(id);
+            if (previous == null || !matches(previous, expectedVersion)) {
+                return null;
+            }
+            store(previous.updatedWith(changes));
+            return previous;
+        });
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return write(() -> {
+            Note previous = notes.get(id);
+            return previous != null && matches(previous, expectedVersion) ? delete(id) : null;
+        });
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(newestFirst));
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return findAll(NoteFilter.none(), NoteProjection.full(), page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return findAll(NoteFilter.none(), NoteProjection.full(), cursor, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return Flux.defer(() -> {
+            Stream<Note> candidates = filter.tags().isEmpty() ? notes.values().stream() : tagged(filter).sorted(Comparator.comparing(Note::getId));
+            return Flux.fromStream(candidates.filter(filter::matches));
+        });
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return Flux.defer(() -> Flux.fromStream(newestFirst(filter).stream()
+                .filter(filter::matches)
+                .skip((long) page * size)
+                .limit(size)));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return Flux.defer(() -> {
+            NavigableSet<Note> sorted = newestFirst(filter);
+            if (cursor == null) {
+                return Flux.fromStream(sorted.stream().filter(filter::matches).limit(size));
+            }
+            Note boundary = Note.builder().id(cursor.id()).createdAt(cursor.createdAt()).build();
+            Set<Note> slice = cursor.isForward()
+                    ? sorted.tailSet(boundary, false)
+                    : sorted.headSet(boundary, false).descendingSet();
+            return Flux.fromStream(slice.stream().filter(filter::matches).limit(size));
+        });
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(size::get);
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return Mono.fromSupplier(() -> filter.isEmpty() ? size.get() : newestFirst(filter).stream().filter(filter::matches).count());
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return count();
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return operations.concatMap(operation -> write(() -> apply(operation)));
+    }
+
+    private NoteOperationResult apply(NoteOperation operation) {
+        switch (operation.type()) {
+            case CREATE -> {
+                Note note = store(operation.note().toBuilder().id(newId()).version(0L).build());
+                return NoteOperationResult.created(operation, note);
+            }
+            case UPDATE -> {
+                Note previous = notes.get(operation.id());
+                if (previous == null) {
+                    return NoteOperationResult.notFound(operation);
+                }
+                return NoteOperationResult.updated(operation, previous, store(previous.updatedWith(operation.note())));
+            }
+            default -> {
+                Note previous = delete(operation.id());
+                return previous != null ? NoteOperationResult.deleted(operation, previous) : NoteOperationResult.notFound(operation);
+            }
+        }
+    }
+
+    private <T> Mono<T> write(Callable<T> write) {
+        Mono<T> mono = Mono.fromCallable(() -> {
+            synchronized (writeLock) {
+                return write.call();
+            }
+        });
+        return journal != null ? mono.subscribeOn(Schedulers.boundedElastic()) : mono;
+    }
+
+    private Note store(Note note) {
+        put(note);
+        if (journal != null) {
+            journal.put(note);
+        }
+        return note;
+    }
+
+    private Note delete(String id) {
+        Note previous = remove(id);
+        if (previous != null && journal != null) {
+            journal.delete(id);
+        }
+        return previous;
+    }
+
+    private void put(Note note) {
+        Note previous = notes.put(note.getId(), note);
+        if (previous != null) {
+            unindex(previous);
+        } else {
+            size.incrementAndGet();
+        }
+        newestFirst.add(note);
+        tagsOf(note).forEach(tag -> idsByTag.computeIfAbsent(tag, key -> ConcurrentHashMap.newKeySet()).add(note.getId()));
+        listeners.forEach(listener -> listener.stored(note));
+    }
+
+    private Note remove(String id) {
+        Note previous = notes.remove(id);
+        if (previous != null) {
+            unindex(previous);
+            size.decrementAndGet();
+            listeners.forEach(listener -> listener.removed(id));
+        }
+        return previous;
+    }
+
+    private void clear() {
+        notes.clear();
+        newestFirst.clear();
+        idsByTag.clear();
+        size.set(0);
+        listeners.forEach(Listener::cleared);
+    }
+
+    private void unindex(Note note) {
+        newestFirst.remove(note);
+        tagsOf(note).forEach(tag -> idsByTag.computeIfPresent(tag, (key, ids) -> {
+            ids.remove(note.getId());
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    private NavigableSet<Note> newestFirst(NoteFilter filter) {
+        if (filter.tags().isEmpty()) {
+            return newestFirst;
+        }
+        return tagged(filter).collect(Collectors.toCollection(() -> new TreeSet<>(NEWEST_FIRST)));
+    }
+
+    private Stream<Note> tagged(NoteFilter filter) {
+        List<Set<String>> postings = filter.tags().stream()
+                .map(tag -> idsByTag.getOrDefault(tag, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        Stream<String> ids = filter.match() == NoteFilter.TagMatch.ALL
+                ? postings.getFirst().stream().filter(id -> postings.stream().allMatch(posting -> posting.contains(id)))
+                : postings.stream().flatMap(Set::stream).distinct();
+        return ids.map(notes::get).filter(Objects::nonNull);
+    }
+
+    private static boolean matches(Note note, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return true;
+        }
+        long current = note.getVersion() != null ? note.getVersion() : 0L;
+        return current == expectedVersion;
+    }
+
+    private static List<String> tagsOf(Note note) {
+        return note.getTags() != null ? note.getTags() : List.of();
+    }
+
+    private static String newId() {
+        return new ObjectId().toHexString();
+    }
+}
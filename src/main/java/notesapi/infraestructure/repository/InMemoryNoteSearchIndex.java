@@ -0,0 +1,176 @@
+package notesapi.infraestructure.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import notesapi.common.NoteTokenizer;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.infraestructure.config.NoteRepositoryConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+@Slf4j
+@Repository
+@Qualifier(NoteRepositoryConfig.ENGINE)
+@ConditionalOnProperty(name = "notes.search.engine", havingValue = "in-memory")
+public class InMemoryNoteSearchIndex implements NoteSearchIndex, InMemoryNoteRepository.Listener {
+
+    static final Comparator<Note> NEWEST_FIRST = Comparator.comparing(Note::getCreatedAt)
+            .thenComparing(Note::getId)
+            .reversed();
+
+    private final NoteRepository noteRepository;
+
+    private final Map<String, Note> notes = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tokensById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<String>> postings = new ConcurrentSkipListMap<>();
+
+    public InMemoryNoteSearchIndex(NoteRepository noteRepository) {
+        this.noteRepository = noteRepository;
+    }
+
+    // With the in-memory store the index follows every write to it, not only those made through NoteService
+    @Autowired
+    public InMemoryNoteSearchIndex(NoteRepository noteRepository, ObjectProvider<InMemoryNoteRepository> store) {
+        this(noteRepository);
+        store.ifAvailable(repository -> repository.addListener(this));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long indexed = noteRepository.findAll()
+                .doOnNext(this::put)
+                .count()
+                .blockOptional()
+                .orElse(0L);
+        log.info("In-memory search index built with {} notes", indexed);
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, int page, int size) {
+        return Flux.defer(() -> Flux.fromIterable(matches(keyword))
+                .skip((long) page * size)
+                .take(size));
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, NoteCursor cursor, int size) {
+        return Flux.defer(() -> {
+            List<Note> matches = matches(keyword);
+            if (cursor == null) {
+                return Flux.fromIterable(matches).take(size);
+            }
+            Note boundary = Note.builder().id(cursor.id()).createdAt(cursor.createdAt()).build();
+            Predicate<Note> beyondCursor = cursor.isForward()
+                    ? note -> NEWEST_FIRST.compare(note, boundary) > 0
+                    : note -> NEWEST_FIRST.compare(note, boundary) < 0;
+            List<Note> slice = matches.stream().filter(beyondCursor).toList();
+            return cursor.isForward()
+                    ? Flux.fromIterable(slice).take(size)
+                    : Flux.fromIterable(slice.reversed()).take(size);
+        });
+    }
+
+    @Override
+    public Mono<Long> count(String keyword) {
+        return Mono.fromSupplier(() -> (long) matchingIds(keyword).size());
+    }
+
+    @Override
+    public Mono<Void> index(Note note) {
+        return Mono.fromRunnable(() -> put(note));
+    }
+
+    @Override
+    public Mono<Void> remove(String id) {
+        return Mono.fromRunnable(() -> delete(id));
+    }
+
+    @Override
+    public void stored(Note note) {
+        put(note);
+    }
+
+    @Override
+    public void removed(String id) {
+        delete(id);
+    }
+
+    @Override
+    public synchronized void cleared() {
+        notes.clear();
+        tokensById.clear();
+        postings.clear();
+    }
+
+    private List<Note> matches(String keyword) {
+        return matchingIds(keyword).stream()
+                .map(notes::get)
+                .filter(Objects::nonNull)
+                .sorted(NEWEST_FIRST)
+                .toList();
+    }
+
+    private Set<String> matchingIds(String keyword) {
+        Set<String> terms = NoteTokenizer.tokenize(keyword);
+        if (terms.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> result = null;
+        for (String term : terms) {
+            Set<String> ids = new HashSet<>();
+            postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(ids::addAll);
+            if (result == null) {
+                result = ids;
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private synchronized void put(Note note) {
+        delete(note.getId());
+        Set<String> tokens = NoteTokenizer.tokenize(note);
+        notes.put(note.getId(), note);
+        tokensById.put(note.getId(), tokens);
+        tokens.forEach(token -> postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(note.getId()));
+    }
+
+    private synchronized void delete(String id) {
+        notes.remove(id);
+        Set<String> tokens = tokensById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        tokens.forEach(token -> postings.computeIfPresent(token, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+}
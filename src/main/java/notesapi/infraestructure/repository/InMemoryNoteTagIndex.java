@@ -0,0 +1,68 @@
+package notesapi.infraestructure.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.TagCount;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteTagIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "notes.repository.engine", havingValue = "in-memory")
+public class InMemoryNoteTagIndex implements NoteTagIndex {
+
+    static final Comparator<TagCount> MOST_USED_FIRST = Comparator.comparingLong(TagCount::count).reversed()
+            .thenComparing(TagCount::tag);
+
+    private final NoteRepository noteRepository;
+    private final Map<String, Long> counts = new HashMap<>();
+
+    public InMemoryNoteTagIndex(NoteRepository noteRepository) {
+        this.noteRepository = noteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Note> notes = noteRepository.findAll().collectList().blockOptional().orElse(List.of());
+        synchronized (this) {
+            counts.clear();
+            notes.forEach(note -> apply(NoteChangedEvent.created(note)));
+        }
+        log.info("Tag index built with {} tags", counts.size());
+    }
+
+    @EventListener
+    public synchronized void onNoteChanged(NoteChangedEvent event) {
+        apply(event);
+    }
+
+    @Override
+    public Flux<TagCount> tags() {
+        return Flux.defer(() -> Flux.fromIterable(snapshot()));
+    }
+
+    private synchronized List<TagCount> snapshot() {
+        return counts.entrySet().stream()
+                .map(entry -> new TagCount(entry.getKey(), entry.getValue()))
+                .sorted(MOST_USED_FIRST)
+                .toList();
+    }
+
+    private void apply(NoteChangedEvent event) {
+        event.tagDeltas().forEach((tag, delta) -> counts.compute(tag, (key, count) -> {
+            long updated = (count != null ? count : 0L) + delta;
+            return updated > 0 ? updated : null;
+        }));
+    }
+}
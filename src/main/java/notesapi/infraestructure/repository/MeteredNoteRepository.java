@@ -0,0 +1,120 @@
+package notesapi.infraestructure.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public class MeteredNoteRepository implements NoteRepository {
+
+    private final NoteRepository delegate;
+    private final OperationMetrics metrics;
+
+    public MeteredNoteRepository(NoteRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = new OperationMetrics(registry, "notes.repository");
+    }
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return metrics.timed("findById", delegate.findById(id));
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return metrics.timed("findMetadataById", delegate.findMetadataById(id));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return metrics.timedWithSize("findAllById", delegate.findAllById(ids));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return metrics.timedWithSize("findAllById", delegate.findAllById(ids, projection));
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return metrics.timed("save", delegate.save(note));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return metrics.timed("deleteAll", delegate.deleteAll());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return metrics.timed("deleteById", delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return metrics.timed("findAndUpdate", delegate.findAndUpdate(id, expectedVersion, changes));
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return metrics.timed("findAndDeleteById", delegate.findAndDeleteById(id, expectedVersion));
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return metrics.timedWithSize("findAll", delegate.findAll());
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return metrics.timedWithSize("findPage", delegate.findAll(page, size));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return metrics.timedWithSize("findSlice", delegate.findAll(cursor, size));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return metrics.timedWithSize("export", delegate.findAll(filter));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return metrics.timedWithSize("findFilteredPage", delegate.findAll(filter, projection, page, size));
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return metrics.timedWithSize("findFilteredSlice", delegate.findAll(filter, projection, cursor, size));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return metrics.timed("count", delegate.count());
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return metrics.timed("countFiltered", delegate.count(filter));
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return metrics.timed("estimatedCount", delegate.estimatedCount());
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return metrics.timedWithSize("bulkWrite", delegate.bulkWrite(operations));
+    }
+}
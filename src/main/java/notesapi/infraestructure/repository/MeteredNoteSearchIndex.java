@@ -0,0 +1,45 @@
+package notesapi.infraestructure.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteSearchIndex;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class MeteredNoteSearchIndex implements NoteSearchIndex {
+
+    private final NoteSearchIndex delegate;
+    private final OperationMetrics metrics;
+
+    public MeteredNoteSearchIndex(NoteSearchIndex delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.metrics = new OperationMetrics(registry, "notes.search");
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, int page, int size) {
+        return metrics.timedWithSize("searchPage", delegate.search(keyword, projection, page, size));
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, NoteCursor cursor, int size) {
+        return metrics.timedWithSize("searchSlice", delegate.search(keyword, projection, cursor, size));
+    }
+
+    @Override
+    public Mono<Long> count(String keyword) {
+        return metrics.timed("count", delegate.count(keyword));
+    }
+
+    @Override
+    public Mono<Void> index(Note note) {
+        return metrics.timed("index", delegate.index(note));
+    }
+
+    @Override
+    public Mono<Void> remove(String id) {
+        return metrics.timed("remove", delegate.remove(id));
+    }
+}
@@ -0,0 +1,93 @@
+package notesapi.infraestructure.repository;
+
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.AllArgsConstructor;
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.exception.InvalidResumeTokenException;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteChange;
+import notesapi.domain.repository.NoteChangeFeed;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.json.JsonParseException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+@Repository
+@AllArgsConstructor
+@ConditionalOnProperty(name = "notes.changes.engine", havingValue = "mongo-change-stream")
+public class MongoNoteChangeFeed implements NoteChangeFeed {
+
+    private static final List<String> WATCHED_OPERATIONS = List.of("insert", "update", "replace", "delete");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<NoteChange> changes(String resumeToken, List<String> tags) {
+        return Flux.defer(() -> {
+            ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                    .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                    .filter(Aggregation.newAggregation(Aggregation.match(filter(tags))));
+            if (resumeToken != null) {
+                options.resumeAfter(decode(resumeToken));
+            }
+
+            String collection = mongoTemplate.getCollectionName(Note.class);
+            return mongoTemplate.changeStream(collection, options.build(), Note.class)
+                    .map(MongoNoteChangeFeed::toChange);
+        });
+    }
+
+    private static Criteria filter(List<String> tags) {
+        Criteria operations = Criteria.where("operationType").in(WATCHED_OPERATIONS);
+        if (tags.isEmpty()) {
+            return operations;
+        }
+        return operations.orOperator(
+                Criteria.where("operationType").is("delete"),
+                Criteria.where("fullDocument.tags").in(tags));
+    }
+
+    private static NoteChange toChange(ChangeStreamEvent<Note> event) {
+        NoteChangedEvent.Type type = switch (event.getOperationType()) {
+            case INSERT -> NoteChangedEvent.Type.CREATED;
+            case DELETE -> NoteChangedEvent.Type.DELETED;
+            default -> NoteChangedEvent.Type.UPDATED;
+        };
+        Note note = event.getOperationType() == OperationType.DELETE ? null : event.getBody();
+        return new NoteChange(encode(event.getResumeToken()), type, idOf(event), note);
+    }
+
+    private static String idOf(ChangeStreamEvent<Note> event) {
+        BsonDocument key = event.getRaw() != null ? event.getRaw().getDocumentKey() : null;
+        BsonValue id = key != null ? key.get("_id") : null;
+        if (id == null) {
+            return event.getBody() != null ? event.getBody().getId() : null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static String encode(BsonValue resumeToken) {
+        String json = resumeToken.asDocument().toJson();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BsonDocument decode(String token) {
+        try {
+            return BsonDocument.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | JsonParseException e) {
+            throw new InvalidResumeTokenException(token);
+        }
+    }
+}
@@ -2,9 +2,20 @@ package notesapi.infraestructure.repository;
 
 import lombok.AllArgsConstructor;
 import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
 import notesapi.domain.repository.NoteRepository;
 
+import notesapi.infraestructure.config.BulkProperties;
+import notesapi.infraestructure.config.ExportProperties;
+import notesapi.infraestructure.config.NoteRepositoryConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -12,17 +23,43 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Repository
+@Qualifier(NoteRepositoryConfig.ENGINE)
 @AllArgsConstructor
+@ConditionalOnExpression("'${notes.repository.engine:mongo}' == 'mongo' and '${notes.repository.driver:reactive}' == 'reactive'")
 public class MongoNoteRepository implements NoteRepository {
 
     private final ReactiveMongoTemplate mongoTemplate;
+    private final BulkProperties bulkProperties;
+    private final ExportProperties exportProperties;
 
     @Override
     public Mono<Note> findById(String id) {
         return mongoTemplate.findById(id, Note.class);
     }
 
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("createdAt", "updatedAt", "version");
+        return mongoTemplate.findOne(query, Note.class);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return mongoTemplate.find(NoteQueries.byIds(ids), Note.class);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return mongoTemplate.find(NoteQueries.project(NoteQueries.byIds(ids), projection), Note.class);
+    }
+
     @Override
     public Mono<Note> save(Note note) {
         return mongoTemplate.save(note);
@@ -39,47 +76,117 @@ public class MongoNoteRepository implements NoteRepository {
         return mongoTemplate.remove(query, Note.class).then();
     }
 
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        Query query = NoteQueries.byIdAndVersion(id, expectedVersion);
+        return mongoTemplate.findAndModify(query, NoteQueries.contentUpdate(changes), Note.class);
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return mongoTemplate.findAndRemove(NoteQueries.byIdAndVersion(id, expectedVersion), Note.class);
+    }
+
     @Override
     public Mono<Long> count() {
         return mongoTemplate.count(new Query(), Note.class);
     }
 
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return mongoTemplate.count(NoteQueries.filter(filter), Note.class);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return mongoTemplate.estimatedCount(Note.class);
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return mongoTemplate.findAll(Note.class);
+    }
+
     @Override
     public Flux<Note> findAll(int page, int size) {
-        Query query = new Query()
-                .skip((long) page * size)
-                .limit(size)
-                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        return findAll(NoteFilter.none(), NoteProjection.full(), page, size);
+    }
 
-        return mongoTemplate.find(query, Note.class);
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return findAll(NoteFilter.none(), NoteProjection.full(), cursor, size);
     }
 
     @Override
-    public Flux<Note> search(String keyword, int page, int size) {
-        Criteria criteria = new Criteria().orOperator(
-                Criteria.where("title").regex(keyword, "i"),
-                Criteria.where("content").regex(keyword, "i"),
-                Criteria.where("tags").regex(keyword, "i")
-        );
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        Query query = NoteQueries.page(NoteQueries.filter(filter), page, size)
+                .with(NoteQueries.NEWEST_FIRST);
 
-        Query query = new Query(criteria)
-                .skip((long) page * size)
-                .limit(size)
-                .with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        return mongoTemplate.find(NoteQueries.project(query, projection), Note.class);
+    }
 
-        return mongoTemplate.find(query, Note.class);
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        Query query = NoteQueries.keyset(NoteQueries.filter(filter), cursor, size);
+        return mongoTemplate.find(NoteQueries.project(query, projection), Note.class);
     }
 
     @Override
-    public Mono<Long> countByKeyword(String keyword) {
-        Query query = new Query();
-        Criteria criteria = new Criteria().orOperator(
-                Criteria.where("title").regex(keyword, "i"),
-                Criteria.where("content").regex(keyword, "i"),
-                Criteria.where("tags").elemMatch(Criteria.where("$regex").regex(keyword, "i"))
-        );
-        query.addCriteria(criteria);
+    public Flux<Note> findAll(NoteFilter filter) {
+        Query query = NoteQueries.filter(filter)
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(exportProperties.batchSize());
+
+        return mongoTemplate.find(query, Note.class)
+                .limitRate(exportProperties.batchSize());
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return operations.buffer(bulkProperties.chunkSize())
+                .concatMap(this::bulkWrite);
+    }
+
+    private Flux<NoteOperationResult> bulkWrite(List<NoteOperation> chunk) {
+        return findExisting(chunk).flatMapMany(existing -> {
+            NoteBulkWrites.Plan plan = NoteBulkWrites.plan(chunk, existing);
+            if (plan.planned().isEmpty()) {
+                return Flux.fromIterable(plan.skipped());
+            }
+
+            ReactiveBulkOperations bulkOps = mongoTemplate.bulkOps(plan.mode(), Note.class);
+            for (NoteOperationResult result : plan.planned()) {
+                switch (result.status()) {
+                    case CREATED -> bulkOps.insert(result.note());
+                    case UPDATED -> bulkOps.updateOne(NoteBulkWrites.updateQuery(result), NoteQueries.contentUpdate(result.note()));
+                    case DELETED -> bulkOps.remove(NoteQueries.byId(result.id()));
+                }
+            }
+
+            Flux<NoteOperationResult> written = bulkOps.execute()
+                    .map(result -> NoteBulkWrites.written(plan, result))
+                    .onErrorResume(error -> Mono.just(NoteBulkWrites.failed(plan, error)))
+                    .flatMapMany(this::confirm);
+            return Flux.fromIterable(plan.skipped()).concatWith(written);
+        });
+    }
+
+    private Flux<NoteOperationResult> confirm(NoteBulkWrites.Outcome outcome) {
+        List<String> ids = outcome.unconfirmedUpdates();
+        if (ids.isEmpty()) {
+            return Flux.fromIterable(outcome.results());
+        }
+        return mongoTemplate.find(NoteQueries.byIds(ids), Note.class)
+                .collectMap(Note::getId)
+                .flatMapIterable(outcome::confirm);
+    }
 
-        return mongoTemplate.count(query, Note.class);
+    private Mono<Map<String, Note>> findExisting(List<NoteOperation> chunk) {
+        List<String> ids = NoteBulkWrites.existingIds(chunk);
+        if (ids.isEmpty()) {
+            return Mono.just(new HashMap<>());
+        }
+        return mongoTemplate.find(new Query(Criteria.where("id").in(ids)), Note.class)
+                .collect(HashMap::new, (found, note) -> found.put(note.getId(), note));
     }
 }
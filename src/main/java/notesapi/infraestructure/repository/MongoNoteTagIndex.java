@@ -0,0 +1,110 @@
+package notesapi.infraestructure.repository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.TagCount;
+import notesapi.domain.repository.NoteTagIndex;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "notes.repository.engine", havingValue = "mongo", matchIfMissing = true)
+public class MongoNoteTagIndex implements NoteTagIndex {
+
+    static final String COLLECTION = "note_tags";
+
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY = Duration.ofMinutes(1);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Sinks.Many<Boolean> rebuildRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable rebuilds;
+
+    // Requests made while a rebuild runs collapse into a single one that follows it
+    public MongoNoteTagIndex(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.rebuilds = rebuildRequests.asFlux()
+                .onBackpressureLatest()
+                .concatMap(request -> rebuild()
+                        .doOnError(error -> log.warn("Could not rebuild the tag index, retrying", error))
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, FIRST_RETRY).maxBackoff(MAX_RETRY)), 1)
+                .subscribe();
+    }
+
+    // The counts are recomputed on every start, so deltas lost before a restart do not stay
+    @EventListener(ApplicationReadyEvent.class)
+    public void provision() {
+        rebuild()
+                .onErrorResume(error -> {
+                    log.error("Could not build the tag index", error);
+                    scheduleRebuild();
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    public void scheduleRebuild() {
+        rebuildRequests.emitNext(true, Sinks.EmitFailureHandler.busyLooping(FIRST_RETRY));
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuilds.dispose();
+    }
+
+    public Mono<Void> rebuild() {
+        List<Document> pipeline = List.of(
+                new Document("$project", new Document("tags", new Document("$setUnion", List.of("$tags", List.of())))),
+                new Document("$unwind", "$tags"),
+                new Document("$group", new Document("_id", "$tags").append("count", new Document("$sum", 1))),
+                new Document("$out", COLLECTION));
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Note.class))
+                .flatMap(notes -> Flux.from(notes.aggregate(pipeline).toCollection()).then())
+                .doOnSuccess(ignored -> log.info("Tag index rebuilt from the notes collection"));
+    }
+
+    @EventListener
+    public void onNoteChanged(NoteChangedEvent event) {
+        Map<String, Integer> deltas = event.tagDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        ReactiveBulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        deltas.forEach((tag, delta) -> bulkOps.upsert(new Query(Criteria.where("_id").is(tag)), new Update().inc("count", delta)));
+        // A lost delta would leave the counts wrong for good, so a failed one is repaired by a rebuild
+        bulkOps.execute().subscribe(null, error -> {
+            log.warn("Could not update the tag index for note {}, rebuilding it", event.id(), error);
+            scheduleRebuild();
+        });
+    }
+
+    @Override
+    public Flux<TagCount> tags() {
+        Query query = new Query(Criteria.where("count").gt(0))
+                .with(Sort.by(Sort.Direction.DESC, "count").and(Sort.by(Sort.Direction.ASC, "_id")));
+        return mongoTemplate.find(query, Document.class, COLLECTION)
+                .map(document -> new TagCount(document.getString("_id"), document.get("count", Number.class).longValue()));
+    }
+}
@@ -0,0 +1,67 @@
+package notesapi.infraestructure.repository;
+
+import lombok.AllArgsConstructor;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.infraestructure.config.NoteRepositoryConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Qualifier(NoteRepositoryConfig.ENGINE)
+@AllArgsConstructor
+@ConditionalOnProperty(name = "notes.search.engine", havingValue = "mongo-text", matchIfMissing = true)
+public class MongoTextNoteSearchIndex implements NoteSearchIndex {
+
+    static final TextIndexDefinition TEXT_INDEX = new TextIndexDefinition.TextIndexDefinitionBuilder()
+            .named("notes_text")
+            .onField("title", 3F)
+            .onField("tags", 2F)
+            .onField("content")
+            .build();
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, int page, int size) {
+        Query query = NoteQueries.page(TextQuery.queryText(matching(keyword)).sortByScore(), page, size)
+                .with(NoteQueries.NEWEST_FIRST);
+
+        return mongoTemplate.find(NoteQueries.project(query, projection), Note.class);
+    }
+
+    @Override
+    public Flux<Note> search(String keyword, NoteProjection projection, NoteCursor cursor, int size) {
+        Query query = NoteQueries.keyset(new Query(matching(keyword)), cursor, size);
+        return mongoTemplate.find(NoteQueries.project(query, projection), Note.class);
+    }
+
+    @Override
+    public Mono<Long> count(String keyword) {
+        return mongoTemplate.count(new Query(matching(keyword)), Note.class);
+    }
+
+    @Override
+    public Mono<Void> index(Note note) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> remove(String id) {
+        return Mono.empty();
+    }
+
+    private static TextCriteria matching(String keyword) {
+        return TextCriteria.forDefaultLanguage().matching(keyword);
+    }
+}
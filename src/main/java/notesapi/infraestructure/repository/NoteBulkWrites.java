@@ -0,0 +1,175 @@
+package notesapi.infraestructure.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+final class NoteBulkWrites {
+
+    private static final String NOT_EXECUTED = "Not executed because an earlier operation in the same chunk failed";
+    private static final String VERSION_CONFLICT = "Not updated because the note was changed by a concurrent write";
+
+    record Plan(List<NoteOperationResult> planned, List<NoteOperationResult> skipped) {
+
+        // Creates get new ids and cannot depend on each other, so a chunk holding only creates is written unordered
+        // and one failed insert does not stop the others
+        BulkOperations.BulkMode mode() {
+            boolean insertsOnly = planned.stream().allMatch(result -> result.status() == NoteOperationResult.Status.CREATED);
+            return insertsOnly ? BulkOperations.BulkMode.UNORDERED : BulkOperations.BulkMode.ORDERED;
+        }
+    }
+
+    // A bulk write only reports how many of its conditional updates matched, not which ones. When fewer matched
+    // than were sent, the stored notes tell which updates were overtaken by a concurrent write
+    record Outcome(List<NoteOperationResult> results, long matched) {
+
+        List<String> unconfirmedUpdates() {
+            List<String> ids = results.stream()
+                    .filter(result -> result.status() == NoteOperationResult.Status.UPDATED)
+                    .map(NoteOperationResult::id)
+                    .toList();
+            return ids.size() > matched ? ids.stream().distinct().toList() : List.of();
+        }
+
+        // Updates to the same id in a chunk expect each other's versions, so they applied up to the last one
+        // whose note is the stored one
+        List<NoteOperationResult> confirm(Map<String, Note> stored) {
+            Map<String, Integer> lastApplied = new HashMap<>();
+            for (int position = 0; position < results.size(); position++) {
+                NoteOperationResult result = results.get(position);
+                if (result.status() == NoteOperationResult.Status.UPDATED && sameNote(result.note(), stored.get(result.id()))) {
+                    lastApplied.put(result.id(), position);
+                }
+            }
+
+            List<NoteOperationResult> confirmed = new ArrayList<>(results.size());
+            for (int position = 0; position < results.size(); position++) {
+                NoteOperationResult result = results.get(position);
+                boolean applied = result.status() != NoteOperationResult.Status.UPDATED
+                        || position <= lastApplied.getOrDefault(result.id(), -1);
+                confirmed.add(applied ? result : result.failed(VERSION_CONFLICT));
+            }
+            return confirmed;
+        }
+    }
+
+    private NoteBulkWrites() {
+    }
+
+    static Query updateQuery(NoteOperationResult result) {
+        Long version = result.previous().getVersion();
+        return NoteQueries.byIdAndVersion(result.id(), version != null ? version : 0L);
+    }
+
+    static Outcome written(Plan plan, BulkWriteResult result) {
+        return new Outcome(plan.planned(), matched(result));
+    }
+
+    static List<String> existingIds(List<NoteOperation> chunk) {
+        return chunk.stream()
+                .filter(operation -> operation.type() != NoteOperation.Type.CREATE)
+                .map(NoteOperation::id)
+                .distinct()
+                .toList();
+    }
+
+    static Plan plan(List<NoteOperation> chunk, Map<String, Note> existing) {
+        List<NoteOperationResult> planned = new ArrayList<>();
+        List<NoteOperationResult> skipped = new ArrayList<>();
+
+        for (NoteOperation operation : chunk) {
+            Note previous = operation.id() != null ? existing.get(operation.id()) : null;
+            switch (operation.type()) {
+                case CREATE -> {
+                    Note note = operation.note().toBuilder()
+                            .id(new ObjectId().toHexString())
+                            .version(0L)
+                            .build();
+                    existing.put(note.getId(), note);
+                    planned.add(NoteOperationResult.created(operation, note));
+                }
+                case UPDATE -> {
+                    if (previous == null) {
+                        skipped.add(NoteOperationResult.notFound(operation));
+                        continue;
+                    }
+                    Note note = previous.updatedWith(operation.note());
+                    existing.put(note.getId(), note);
+                    planned.add(NoteOperationResult.updated(operation, previous, note));
+                }
+                case DELETE -> {
+                    if (previous == null) {
+                        skipped.add(NoteOperationResult.notFound(operation));
+                        continue;
+                    }
+                    existing.remove(previous.getId());
+                    planned.add(NoteOperationResult.deleted(operation, previous));
+                }
+            }
+        }
+        return new Plan(planned, skipped);
+    }
+
+    static Outcome failed(Plan plan, Throwable error) {
+        List<NoteOperationResult> planned = plan.planned();
+        MongoBulkWriteException bulkError = findBulkWriteException(error);
+        if (bulkError == null) {
+            return new Outcome(planned.stream()
+                    .map(result -> result.failed(error.getMessage()))
+                    .toList(), 0);
+        }
+
+        Map<Integer, String> errors = bulkError.getWriteErrors().stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (first, second) -> first));
+        int firstError = plan.mode() == BulkOperations.BulkMode.ORDERED
+                ? errors.keySet().stream().min(Integer::compare).orElse(planned.size())
+                : planned.size();
+        List<NoteOperationResult> results = new ArrayList<>(planned.size());
+        for (int position = 0; position < planned.size(); position++) {
+            NoteOperationResult result = planned.get(position);
+            if (errors.containsKey(position)) {
+                results.add(result.failed(errors.get(position)));
+            } else if (position > firstError) {
+                results.add(result.failed(NOT_EXECUTED));
+            } else {
+                results.add(result);
+            }
+        }
+        return new Outcome(results, matched(bulkError.getWriteResult()));
+    }
+
+    // Unacknowledged writes report no counts, so there is nothing to check their updates against
+    private static long matched(BulkWriteResult result) {
+        return result.wasAcknowledged() ? result.getMatchedCount() : Long.MAX_VALUE;
+    }
+
+    private static boolean sameNote(Note written, Note stored) {
+        return stored != null
+                && Objects.equals(written.getVersion(), stored.getVersion())
+                && Objects.equals(written.getTitle(), stored.getTitle())
+                && Objects.equals(written.getContent(), stored.getContent())
+                && Objects.equals(written.getTags(), stored.getTags());
+    }
+
+    private static MongoBulkWriteException findBulkWriteException(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkError) {
+                return bulkError;
+            }
+        }
+        return null;
+    }
+}
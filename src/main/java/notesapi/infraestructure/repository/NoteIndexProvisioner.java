@@ -0,0 +1,159 @@
+package notesapi.infraestructure.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import notesapi.domain.model.Note;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notes.repository.engine", havingValue = "mongo", matchIfMissing = true)
+public class NoteIndexProvisioner implements InfoContributor {
+
+    static final Index CREATED_AT_ID_INDEX = new Index()
+            .on("createdAt", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("notes_createdAt_id");
+    static final Index TAGS_INDEX = new Index()
+            .on("tags", Sort.Direction.ASC)
+            .on("createdAt", Sort.Direction.DESC)
+            .on("_id", Sort.Direction.DESC)
+            .named("notes_tags_createdAt_id");
+
+    private static final String DEFAULT_ID_INDEX = "_id_";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final List<IndexDefinition> expectedIndexes;
+    private volatile IndexReport lastReport = IndexReport.notChecked();
+
+    public NoteIndexProvisioner(ReactiveMongoTemplate mongoTemplate,
+                                @Value("${notes.search.engine:mongo-text}") String searchEngine) {
+        this.mongoTemplate = mongoTemplate;
+        this.expectedIndexes = "mongo-text".equals(searchEngine)
+                ? List.of(CREATED_AT_ID_INDEX, TAGS_INDEX, MongoTextNoteSearchIndex.TEXT_INDEX)
+                : List.of(CREATED_AT_ID_INDEX, TAGS_INDEX);
+    }
+
+    public IndexReport lastReport() {
+        return lastReport;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("noteIndexes", lastReport);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provision() {
+        lastReport = reconcile()
+                .doOnNext(this::log)
+                .onErrorResume(error -> {
+                    log.error("Could not provision the notes indexes", error);
+                    return Mono.empty();
+                })
+                .blockOptional()
+                .orElse(IndexReport.notChecked());
+    }
+
+    public Mono<IndexReport> reconcile() {
+        ReactiveIndexOperations indexOps = mongoTemplate.indexOps(Note.class);
+        return indexOps.getIndexInfo()
+                .collectMap(IndexInfo::getName, Function.identity())
+                .flatMap(existing -> {
+                    List<String> mismatched = new ArrayList<>();
+                    List<IndexDefinition> toCreate = new ArrayList<>();
+                    for (IndexDefinition expected : expectedIndexes) {
+                        IndexInfo current = existing.get(nameOf(expected));
+                        if (current == null) {
+                            toCreate.add(expected);
+                        } else if (!hasSameKeys(current, expected)) {
+                            mismatched.add(nameOf(expected));
+                        }
+                    }
+
+                    List<String> unexpected = unexpectedIndexes(existing);
+                    return Flux.fromIterable(toCreate)
+                            .concatMap(indexOps::ensureIndex)
+                            .collectList()
+                            .map(created -> new IndexReport(true, created, mismatched, unexpected));
+                });
+    }
+
+    private List<String> unexpectedIndexes(Map<String, IndexInfo> existing) {
+        Set<String> expectedNames = expectedIndexes.stream()
+                .map(NoteIndexProvisioner::nameOf)
+                .collect(Collectors.toSet());
+        return existing.keySet().stream()
+                .filter(name -> !DEFAULT_ID_INDEX.equals(name) && !expectedNames.contains(name))
+                .sorted()
+                .toList();
+    }
+
+    private void log(IndexReport report) {
+        if (!report.created().isEmpty()) {
+            log.info("Created notes indexes {}", report.created());
+        }
+        if (report.hasDrift()) {
+            log.warn("Notes index drift detected: mismatched {}, unexpected {}", report.mismatched(), report.unexpected());
+        }
+    }
+
+    private static String nameOf(IndexDefinition definition) {
+        return definition.getIndexOptions().getString("name");
+    }
+
+    private static boolean hasSameKeys(IndexInfo current, IndexDefinition expected) {
+        Document keys = expected.getIndexKeys();
+        List<IndexField> fields = current.getIndexFields();
+        if (fields.stream().anyMatch(IndexField::isText)) {
+            Set<String> textFields = fields.stream().map(IndexField::getKey).collect(Collectors.toSet());
+            return keys.containsValue("text") && textFields.equals(keys.keySet());
+        }
+        if (fields.size() != keys.size()) {
+            return false;
+        }
+
+        int position = 0;
+        for (Map.Entry<String, Object> key : keys.entrySet()) {
+            IndexField field = fields.get(position++);
+            int direction = field.getDirection() == Sort.Direction.DESC ? -1 : 1;
+            if (!field.getKey().equals(key.getKey()) || !Integer.valueOf(direction).equals(key.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record IndexReport(boolean checked, List<String> created, List<String> mismatched, List<String> unexpected) {
+
+        static IndexReport notChecked() {
+            return new IndexReport(false, List.of(), List.of(), List.of());
+        }
+
+        public boolean hasDrift() {
+            return !mismatched.isEmpty() || !unexpected.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package notesapi.infraestructure.repository;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import notesapi.domain.model.Note;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+class NoteJournal implements AutoCloseable {
+
+    private static final String SNAPSHOT = "snapshot.ndjson";
+    private static final String JOURNAL = "journal.ndjson";
+    private static final String ROTATED_JOURNAL = "journal.ndjson.old";
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Path directory;
+    private BufferedWriter writer;
+    private long sequence;
+
+    NoteJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    long recover(Consumer<Note> put, Consumer<String> delete, Runnable clear) throws IOException {
+        Files.createDirectories(directory);
+        long snapshotSequence = 0;
+        Path snapshot = directory.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                snapshotSequence = header != null ? mapper.readValue(header, Entry.class).seq() : 0;
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    put.accept(mapper.readValue(line, StoredNote.class).toNote());
+                }
+            }
+        }
+
+        sequence = snapshotSequence;
+        long replayed = 0;
+        for (Path journal : List.of(directory.resolve(ROTATED_JOURNAL), directory.resolve(JOURNAL))) {
+            if (!Files.exists(journal)) {
+                continue;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    Entry entry = readEntry(line);
+                    if (entry == null || entry.seq() <= snapshotSequence) {
+                        continue;
+                    }
+                    switch (entry.op()) {
+                        case "put" -> put.accept(entry.note().toNote());
+                        case "delete" -> delete.accept(entry.id());
+                        case "clear" -> clear.run();
+                        default -> throw new IOException("Unknown journal operation " + entry.op());
+                    }
+                    sequence = Math.max(sequence, entry.seq());
+                    replayed++;
+                }
+            }
+        }
+
+        writer = open(directory.resolve(JOURNAL));
+        return replayed;
+    }
+
+    void put(Note note) {
+        append(new Entry(++sequence, "put", null, StoredNote.from(note)));
+    }
+
+    void delete(String id) {
+        append(new Entry(++sequence, "delete", id, null));
+    }
+
+    void clear() {
+        append(new Entry(++sequence, "clear", null, null));
+    }
+
+    Rotation rotate() throws IOException {
+        writer.close();
+        Files.move(directory.resolve(JOURNAL), directory.resolve(ROTATED_JOURNAL), StandardCopyOption.REPLACE_EXISTING);
+        writer = open(directory.resolve(JOURNAL));
+        return new Rotation(sequence);
+    }
+
+    void snapshot(Rotation rotation, Collection<Note> notes) throws IOException {
+        Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+        try (BufferedWriter snapshot = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            snapshot.write(mapper.writeValueAsString(new Entry(rotation.sequence(), "snapshot", null, null)));
+            snapshot.newLine();
+            for (Note note : notes) {
+                snapshot.write(mapper.writeValueAsString(StoredNote.from(note)));
+                snapshot.newLine();
+            }
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(directory.resolve(ROTATED_JOURNAL));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void append(Entry entry) {
+        try {
+            writer.write(mapper.writeValueAsString(entry));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the notes journal", e);
+        }
+    }
+
+    private Entry readEntry(String line) {
+        try {
+            return mapper.readValue(line, Entry.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static BufferedWriter open(Path file) throws IOException {
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    record Rotation(long sequence) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private record Entry(long seq, String op, String id, StoredNote note) {
+    }
+
+    private record StoredNote(String id, String title, String content, List<String> tags,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+
+        static StoredNote from(Note note) {
+            return new StoredNote(note.getId(), note.getTitle(), note.getContent(), note.getTags(),
+                    note.getCreatedAt(), note.getUpdatedAt(), note.getVersion());
+        }
+
+        Note toNote() {
+            return Note.builder()
+                    .id(id)
+                    .title(title)
+                    .content(content)
+                    .tags(tags)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .version(version)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package notesapi.infraestructure.repository;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteProjection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+
+final class NoteQueries {
+
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+
+    private NoteQueries() {
+    }
+
+    static Query page(Query query, int page, int size) {
+        return query.skip((long) page * size).limit(size);
+    }
+
+    static Query keyset(Query query, NoteCursor cursor, int size) {
+        if (cursor == null) {
+            return query.limit(size).with(NEWEST_FIRST);
+        }
+
+        Criteria beyondCreatedAt = cursor.isForward()
+                ? Criteria.where("createdAt").lt(cursor.createdAt())
+                : Criteria.where("createdAt").gt(cursor.createdAt());
+        Criteria sameCreatedAt = cursor.isForward()
+                ? Criteria.where("createdAt").is(cursor.createdAt()).and("id").lt(cursor.id())
+                : Criteria.where("createdAt").is(cursor.createdAt()).and("id").gt(cursor.id());
+
+        return query.addCriteria(new Criteria().orOperator(beyondCreatedAt, sameCreatedAt))
+                .limit(size)
+                .with(cursor.isForward() ? NEWEST_FIRST : OLDEST_FIRST);
+    }
+
+    static Query filter(NoteFilter filter) {
+        Query query = new Query();
+        if (!filter.tags().isEmpty()) {
+            Criteria tags = Criteria.where("tags");
+            query.addCriteria(filter.match() == NoteFilter.TagMatch.ALL ? tags.all(filter.tags()) : tags.in(filter.tags()));
+        }
+        if (filter.updatedSince() != null) {
+            query.addCriteria(Criteria.where("updatedAt").gte(filter.updatedSince()));
+        }
+        return query;
+    }
+
+    static Query project(Query query, NoteProjection projection) {
+        if (projection.isFull()) {
+            return query;
+        }
+
+        // createdAt is always read because the cursors are built from it
+        Field fields = query.fields().include("createdAt");
+        for (NoteProjection.Field field : projection.fields()) {
+            if (field != NoteProjection.Field.CONTENT_PREVIEW) {
+                fields.include(field.fieldName());
+            } else if (!projection.includes(NoteProjection.Field.CONTENT)) {
+                fields.project(StringOperators.valueOf("content").substringCP(0, projection.previewLength())).as("content");
+            }
+        }
+        return query;
+    }
+
+    static Query byId(String id) {
+        return new Query(Criteria.where("id").is(id));
+    }
+
+    static Query byIds(Collection<String> ids) {
+        return new Query(Criteria.where("id").in(ids));
+    }
+
+    static Query byIdAndVersion(String id, Long expectedVersion) {
+        Query query = byId(id);
+        if (expectedVersion == null) {
+            return query;
+        }
+        return expectedVersion == 0
+                ? query.addCriteria(Criteria.where("version").in(0L, null))
+                : query.addCriteria(Criteria.where("version").is(expectedVersion));
+    }
+
+    static Update contentUpdate(Note note) {
+        return new Update()
+                .set("title", note.getTitle())
+                .set("content", note.getContent())
+                .set("tags", note.getTags())
+                .set("updatedAt", note.getUpdatedAt())
+                .inc("version", 1);
+    }
+}
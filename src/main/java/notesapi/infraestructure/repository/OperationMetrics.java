@@ -0,0 +1,79 @@
+package notesapi.infraestructure.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+class OperationMetrics {
+
+    // Latencies and result sizes get a few fixed buckets. An open-ended percentile histogram publishes around 70
+    // buckets per timer and close to 300 per summary, for every operation and outcome
+    private static final Duration[] LATENCY_BUCKETS = Stream.of(1, 5, 10, 25, 50, 100, 250, 500, 1_000, 5_000)
+            .map(Duration::ofMillis)
+            .toArray(Duration[]::new);
+    private static final double[] RESULT_BUCKETS = {1, 10, 50, 100, 500, 1_000, 10_000};
+
+    private final MeterRegistry registry;
+    private final String name;
+
+    OperationMetrics(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    <T> Mono<T> timed(String operation, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return mono.doFinally(signal -> sample.stop(timer(operation, signal)));
+        });
+    }
+
+    <T> Flux<T> timed(String operation, Flux<T> flux) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return flux.doFinally(signal -> sample.stop(timer(operation, signal)));
+        });
+    }
+
+    <T> Flux<T> timedWithSize(String operation, Flux<T> flux) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            AtomicLong results = new AtomicLong();
+            return flux.doOnNext(item -> results.incrementAndGet())
+                    .doFinally(signal -> {
+                        sample.stop(timer(operation, signal));
+                        results(operation).record(results.get());
+                    });
+        });
+    }
+
+    private Timer timer(String operation, SignalType signal) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome(signal))
+                .serviceLevelObjectives(LATENCY_BUCKETS)
+                .register(registry);
+    }
+
+    private DistributionSummary results(String operation) {
+        return DistributionSummary.builder(name + ".results")
+                .tag("operation", operation)
+                .serviceLevelObjectives(RESULT_BUCKETS)
+                .register(registry);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package notesapi.infraestructure.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+class RequestCoalescer {
+
+    private final Map<Key, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final String name;
+
+    RequestCoalescer(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> coalesce(String operation, Object argument, Supplier<Mono<T>> source) {
+        return Mono.defer(() -> {
+            Key key = new Key(operation, argument);
+            boolean[] leader = {false};
+            Flight<T> flight = (Flight<T>) inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return new Flight<>(k, source.get());
+            });
+            requests(operation, leader[0]).increment();
+            return flight.result;
+        });
+    }
+
+    <T> Flux<T> coalesceMany(String operation, Object argument, Supplier<Flux<T>> source) {
+        return this.<List<T>>coalesce(operation, argument, () -> source.get().collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    // Callers arriving after a write start a new read instead of joining one that may predate it
+    void forget(String operation, Object argument) {
+        inFlight.remove(new Key(operation, argument));
+    }
+
+    void forgetAll() {
+        inFlight.clear();
+    }
+
+    private Counter requests(String operation, boolean leader) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .tag("role", leader ? "leader" : "follower")
+                .register(registry);
+    }
+
+    private record Key(String operation, Object argument) {}
+
+    private final class Flight<T> {
+
+        private final Mono<T> result;
+
+        Flight(Key key, Mono<T> source) {
+            this.result = source.doFinally(signal -> inFlight.remove(key, this)).cache();
+        }
+    }
+}
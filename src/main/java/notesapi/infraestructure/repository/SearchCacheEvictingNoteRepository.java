@@ -0,0 +1,130 @@
+package notesapi.infraestructure.repository;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public class SearchCacheEvictingNoteRepository implements NoteRepository {
+
+    private final NoteRepository delegate;
+    private final SearchResultCache cache;
+
+    public SearchCacheEvictingNoteRepository(NoteRepository delegate, SearchResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return delegate.findMetadataById(id);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return delegate.findAllById(ids, projection);
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return delegate.save(note)
+                .doOnNext(cache::evict);
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return delegate.deleteAll().doFinally(signal -> cache.evictAll());
+    }
+
+    // Deleting through findAndDelete returns the note in the same round trip, so its keywords can be evicted
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.findAndDeleteById(id, null)
+                .doOnNext(cache::evict)
+                .then();
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return delegate.findAndUpdate(id, expectedVersion, changes)
+                .doOnNext(previous -> cache.evict(previous, previous.updatedWith(changes)));
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return delegate.findAndDeleteById(id, expectedVersion)
+                .doOnNext(cache::evict);
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        return delegate.findAll(cursor, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return delegate.findAll(filter);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return delegate.findAll(filter, projection, page, size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return delegate.findAll(filter, projection, cursor, size);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return delegate.count(filter);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return delegate.estimatedCount();
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return delegate.bulkWrite(operations)
+                .doOnNext(result -> {
+                    if (result.isWritten()) {
+                        cache.evict(result.previous(), result.note());
+                    }
+                });
+    }
+}
@@ -0,0 +1,190 @@
+package notesapi.infraestructure.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import notesapi.common.NoteTokenizer;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.infraestructure.config.SearchCacheProperties;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class SearchResultCache implements MeterBinder {
+
+    // Engines may stem or prefix-match terms, so a keyword term and a note token match when one starts with the
+    // other, or when both share their first letters. This evicts a few entries too many rather than keeping one
+    // that a write changed
+    private static final int MATCHED_PREFIX_LENGTH = 3;
+
+    private final AsyncCache<Key, Object> results;
+    // Entries are indexed by the prefixes of their terms and the ids they hold, so a write only visits the
+    // entries it may have changed instead of scanning the whole cache
+    private final ConcurrentSkipListMap<String, Set<Key>> keysByPrefix = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Key>> keysById = new ConcurrentHashMap<>();
+    private final Set<Key> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<Key, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public SearchResultCache(SearchCacheProperties properties) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .evictionListener((Key key, Object value, RemovalCause cause) -> unregister(key, value))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public CacheStats stats() {
+        return results.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, results, "search_results");
+    }
+
+    Mono<List<String>> page(String keyword, int page, int size, Mono<List<String>> loader) {
+        return cached(new Key(Kind.PAGE, keyword, page, size), loader);
+    }
+
+    Mono<List<String>> slice(String keyword, NoteCursor cursor, int size, Mono<List<String>> loader) {
+        return cached(new Key(Kind.SLICE, keyword, cursor, size), loader);
+    }
+
+    Mono<Long> count(String keyword, Mono<Long> loader) {
+        return cached(new Key(Kind.COUNT, keyword, null, 0), loader);
+    }
+
+    // Results still loading may have been read before the write, so they are evicted too
+    void evict(Note... notes) {
+        Set<Key> affected = new HashSet<>(loading.keySet());
+        affected.addAll(unfiltered);
+        for (Note note : notes) {
+            if (note != null) {
+                affected.addAll(keysById.getOrDefault(note.getId(), Set.of()));
+                NoteTokenizer.tokenize(note).forEach(token -> addMatching(token, affected));
+            }
+        }
+        affected.forEach(this::invalidate);
+    }
+
+    void evictAll() {
+        keysByPrefix.clear();
+        keysById.clear();
+        unfiltered.clear();
+        loading.clear();
+        results.synchronous().invalidateAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> cached(Key key, Mono<T> loader) {
+        return Mono.fromFuture(() -> (CompletableFuture<T>) results.get(key, (ignored, executor) -> {
+            CompletableFuture<Object> entry = new CompletableFuture<>();
+            loading.put(key, entry);
+            register(key);
+            loader.map(Object.class::cast)
+                    .toFuture()
+                    .whenComplete((value, error) -> {
+                        settle(key, entry, value, error);
+                        if (error != null) {
+                            entry.completeExceptionally(error);
+                        } else {
+                            entry.complete(value);
+                        }
+                    });
+            return entry;
+        }), true);
+    }
+
+    // A load that a write evicted was already taken out of the indexes, and another load of the same key may have
+    // registered itself since, so only the load still registered for its key updates them
+    private void settle(Key key, CompletableFuture<Object> entry, Object value, Throwable error) {
+        if (!loading.remove(key, entry)) {
+            return;
+        }
+        if (error != null) {
+            unregister(key, null);
+        } else {
+            registerIds(key, value);
+        }
+    }
+
+    // The token matches terms with the same prefix, terms it starts with, and, when it is shorter than the
+    // matched prefix, longer terms that start with it
+    private void addMatching(String token, Set<Key> affected) {
+        for (int length = 1; length <= Math.min(token.length(), MATCHED_PREFIX_LENGTH); length++) {
+            affected.addAll(keysByPrefix.getOrDefault(token.substring(0, length), Set.of()));
+        }
+        if (token.length() < MATCHED_PREFIX_LENGTH) {
+            keysByPrefix.subMap(token, false, token + Character.MAX_VALUE, false).values().forEach(affected::addAll);
+        }
+    }
+
+    // The entry leaves the indexes before the cache, so a load that replaces it registers itself again
+    private void invalidate(Key key) {
+        CompletableFuture<Object> result = results.getIfPresent(key);
+        unregister(key, result != null ? result.getNow(null) : null);
+        results.synchronous().invalidate(key);
+    }
+
+    private void register(Key key) {
+        if (key.terms().isEmpty()) {
+            unfiltered.add(key);
+        }
+        key.terms().forEach(term -> keysByPrefix.computeIfAbsent(prefix(term), ignored -> ConcurrentHashMap.newKeySet()).add(key));
+    }
+
+    private void registerIds(Key key, Object value) {
+        if (value instanceof Collection<?> ids) {
+            ids.forEach(id -> keysById.computeIfAbsent((String) id, ignored -> ConcurrentHashMap.newKeySet()).add(key));
+        }
+    }
+
+    private void unregister(Key key, Object value) {
+        unfiltered.remove(key);
+        loading.remove(key);
+        key.terms().forEach(term -> remove(keysByPrefix, prefix(term), key));
+        if (value instanceof Collection<?> ids) {
+            ids.forEach(id -> remove(keysById, (String) id, key));
+        }
+    }
+
+    private static void remove(Map<String, Set<Key>> index, String entry, Key key) {
+        index.computeIfPresent(entry, (ignored, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String prefix(String term) {
+        return term.substring(0, Math.min(term.length(), MATCHED_PREFIX_LENGTH));
+    }
+
+    private enum Kind {
+        PAGE, SLICE, COUNT
+    }
+
+    private record Key(Kind kind, String keyword, Object position, int size, Set<String> terms) {
+
+        Key(Kind kind, String keyword, Object position, int size) {
+            this(kind, normalize(keyword), position, size, NoteTokenizer.tokenize(keyword));
+        }
+
+        private static String normalize(String keyword) {
+            return keyword.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package notesapi.benchmark;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+class BenchmarkNoteRepository implements NoteRepository {
+
+    private static final Comparator<Note> NEWEST_FIRST = Comparator.comparing(Note::getCreatedAt)
+            .thenComparing(Note::getId)
+            .reversed();
+
+    private final Map<String, Note> notes = new ConcurrentHashMap<>();
+    private final NavigableSet<Note> ordered = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Mono<Note> findById(String id) {
+        return Mono.fromSupplier(() -> notes.get(id));
+    }
+
+    @Override
+    public Mono<Note> findMetadataById(String id) {
+        return findById(id);
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids) {
+        return Flux.defer(() -> Flux.fromStream(ids.stream().map(notes::get).filter(Objects::nonNull)));
+    }
+
+    @Override
+    public Flux<Note> findAllById(Collection<String> ids, NoteProjection projection) {
+        return findAllById(ids);
+    }
+
+    @Override
+    public Mono<Note> save(Note note) {
+        return Mono.fromSupplier(() -> {
+            Note saved = note.getId() != null
+                    ? note
+                    : note.toBuilder().id("%024x".formatted(sequence.incrementAndGet() | 1L << 60)).build();
+            put(saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> {
+            notes.clear();
+            ordered.clear();
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> remove(id));
+    }
+
+    @Override
+    public Mono<Note> findAndUpdate(String id, Long expectedVersion, Note changes) {
+        return Mono.fromSupplier(() -> {
+            Note previous = notes.get(id);
+            if (previous == null || (expectedVersion != null && !expectedVersion.equals(previous.getVersion()))) {
+                return null;
+            }
+            put(previous.updatedWith(changes));
+            return previous;
+        });
+    }
+
+    @Override
+    public Mono<Note> findAndDeleteById(String id, Long expectedVersion) {
+        return Mono.fromSupplier(() -> remove(id));
+    }
+
+    @Override
+    public Flux<Note> findAll() {
+        return Flux.fromIterable(ordered);
+    }
+
+    @Override
+    public Flux<Note> findAll(int page, int size) {
+        return Flux.fromIterable(ordered).skip((long) page * size).take(size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteCursor cursor, int size) {
+        if (cursor == null) {
+            return Flux.fromIterable(ordered).take(size);
+        }
+        Note boundary = Note.builder().id(cursor.id()).createdAt(cursor.createdAt()).build();
+        return cursor.isForward()
+                ? Flux.fromIterable(ordered.tailSet(boundary, false)).take(size)
+                : Flux.fromIterable(ordered.headSet(boundary, false).descendingSet()).take(size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter) {
+        return Flux.fromIterable(ordered).filter(filter::matches);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, int page, int size) {
+        return findAll(filter).skip((long) page * size).take(size);
+    }
+
+    @Override
+    public Flux<Note> findAll(NoteFilter filter, NoteProjection projection, NoteCursor cursor, int size) {
+        return findAll(cursor, Integer.MAX_VALUE).filter(filter::matches).take(size);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) notes.size());
+    }
+
+    @Override
+    public Mono<Long> count(NoteFilter filter) {
+        return findAll(filter).count();
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return count();
+    }
+
+    @Override
+    public Flux<NoteOperationResult> bulkWrite(Flux<NoteOperation> operations) {
+        return Flux.error(new UnsupportedOperationException("Bulk writes are not benchmarked"));
+    }
+
+    private void put(Note note) {
+        Note previous = notes.put(note.getId(), note);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        ordered.add(note);
+    }
+
+    private Note remove(String id) {
+        Note previous = notes.remove(id);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        return previous;
+    }
+}
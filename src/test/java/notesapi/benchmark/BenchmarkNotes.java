@@ -0,0 +1,51 @@
+package notesapi.benchmark;
+
+import notesapi.domain.model.Note;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+final class BenchmarkNotes {
+
+    private static final String[] WORDS = {
+            "meeting", "groceries", "project", "review", "deadline", "holiday", "budget", "release",
+            "design", "roadmap", "invoice", "recipe", "workout", "reading", "travel", "backlog"
+    };
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private BenchmarkNotes() {
+    }
+
+    static List<Note> generate(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        return IntStream.range(0, count)
+                .mapToObj(index -> note(index, random))
+                .toList();
+    }
+
+    private static Note note(int index, SplittableRandom random) {
+        LocalDateTime createdAt = START.plusSeconds(index);
+        return Note.builder()
+                .id("%024x".formatted(index))
+                .title(words(random, 4))
+                .content(words(random, 60))
+                .tags(List.of(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)]))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(0L)
+                .build();
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
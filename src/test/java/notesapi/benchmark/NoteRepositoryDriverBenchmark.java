@@ -0,0 +1,110 @@
+package notesapi.benchmark;
+
+import com.mongodb.ConnectionString;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.BulkProperties;
+import notesapi.infraestructure.config.ExportProperties;
+import notesapi.infraestructure.repository.BlockingMongoNoteRepository;
+import notesapi.infraestructure.repository.MongoNoteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class NoteRepositoryDriverBenchmark {
+
+    private static final String DEFAULT_URI = "mongodb://localhost:27017/notes-benchmark";
+
+    @Param({"reactive", "blocking"})
+    private String driver;
+
+    @Param({"10000"})
+    private int notes;
+
+    private NoteRepository repository;
+    private AutoCloseable client;
+    private Scheduler scheduler;
+    private List<String> ids;
+    private Note template;
+
+    @Setup
+    public void setUp() {
+        ConnectionString uri = new ConnectionString(System.getProperty("notes.benchmark.mongodb-uri", DEFAULT_URI));
+        BulkProperties bulkProperties = new BulkProperties(1000);
+        ExportProperties exportProperties = new ExportProperties(500);
+        if ("blocking".equals(driver)) {
+            com.mongodb.client.MongoClient blockingClient = com.mongodb.client.MongoClients.create(uri);
+            scheduler = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "benchmark");
+            repository = new BlockingMongoNoteRepository(new MongoTemplate(blockingClient, uri.getDatabase()),
+                    bulkProperties, exportProperties, scheduler);
+            client = blockingClient;
+        } else {
+            com.mongodb.reactivestreams.client.MongoClient reactiveClient = com.mongodb.reactivestreams.client.MongoClients.create(uri);
+            repository = new MongoNoteRepository(new ReactiveMongoTemplate(reactiveClient, uri.getDatabase()),
+                    bulkProperties, exportProperties);
+            client = reactiveClient;
+        }
+
+        List<Note> generated = BenchmarkNotes.generate(notes);
+        repository.deleteAll().block();
+        ids = repository.bulkWrite(Flux.fromIterable(generated)
+                        .index((index, note) -> new NoteOperation(index, NoteOperation.Type.CREATE, null, note)))
+                .map(NoteOperationResult::id)
+                .collectList()
+                .block();
+        template = generated.getFirst().toBuilder().id(null).version(null).build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        repository.deleteAll().block();
+        client.close();
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    @Benchmark
+    public Note findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size()))).block();
+    }
+
+    @Benchmark
+    public List<Note> findPage() {
+        return repository.findAll(ThreadLocalRandom.current().nextInt(notes / 10), 10).collectList().block();
+    }
+
+    @Benchmark
+    public Note create() {
+        return repository.save(template).block();
+    }
+}
@@ -0,0 +1,52 @@
+package notesapi.benchmark;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteProjection;
+import notesapi.infraestructure.repository.InMemoryNoteSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteSearchBenchmark {
+
+    @Param({"10000"})
+    private int notes;
+
+    @Param({"meeting", "proj", "budget release"})
+    private String keyword;
+
+    private InMemoryNoteSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        searchIndex = new InMemoryNoteSearchIndex(new BenchmarkNoteRepository());
+        BenchmarkNotes.generate(notes).forEach(note -> searchIndex.index(note).block());
+    }
+
+    @Benchmark
+    public List<Note> searchFirstPage() {
+        return searchIndex.search(keyword, NoteProjection.full(), 0, 10).collectList().block();
+    }
+
+    @Benchmark
+    public Long countMatches() {
+        return searchIndex.count(keyword).block();
+    }
+}
@@ -0,0 +1,82 @@
+package notesapi.benchmark;
+
+import notesapi.common.DateTimeProvider;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteSlice;
+import notesapi.domain.service.NoteService;
+import notesapi.infraestructure.repository.ExactNoteCounter;
+import notesapi.infraestructure.repository.InMemoryNoteSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteServiceBenchmark {
+
+    @Param({"10000"})
+    private int notes;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private NoteService noteService;
+    private NoteCursor middleCursor;
+    private Note template;
+    private String existingId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkNoteRepository repository = new BenchmarkNoteRepository();
+        InMemoryNoteSearchIndex searchIndex = new InMemoryNoteSearchIndex(repository);
+        List<Note> generated = BenchmarkNotes.generate(notes);
+        generated.forEach(note -> {
+            repository.save(note).block();
+            searchIndex.index(note).block();
+        });
+
+        noteService = new NoteService(repository, searchIndex, new ExactNoteCounter(repository, searchIndex), null, null,
+                new DateTimeProvider(), event -> {
+        });
+        Note middle = generated.get(notes / 2);
+        middleCursor = NoteCursor.next(middle);
+        existingId = middle.getId();
+        template = generated.getFirst();
+    }
+
+    @Benchmark
+    public List<Note> findAllByOffset() {
+        return noteService.findAll(notes / pageSize / 2, pageSize).collectList().block();
+    }
+
+    @Benchmark
+    public NoteSlice findAllByCursor() {
+        return noteService.findAll(middleCursor, pageSize).block();
+    }
+
+    @Benchmark
+    public Note findById() {
+        return noteService.findById(existingId).block();
+    }
+
+    @Benchmark
+    public Note update() {
+        return noteService.update(template, existingId).block();
+    }
+}
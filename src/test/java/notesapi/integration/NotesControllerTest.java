@@ -1,16 +1,35 @@
 package notesapi.integration;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import notesapi.application.dto.request.BulkNoteRequest;
+import notesapi.application.dto.request.MultiGetRequest;
 import notesapi.application.dto.request.NoteRequest;
+import notesapi.application.dto.response.BulkItemResponse;
+import notesapi.application.dto.response.NoteChangeResponse;
 import notesapi.application.dto.response.NoteResponse;
+import notesapi.application.dto.response.PaginatedResponse;
 import notesapi.domain.model.Note;
 import notesapi.domain.repository.NoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -23,8 +42,10 @@ import static notesapi.common.TestData.ANY_OTHER_TITLE;
 import static notesapi.common.TestData.ANY_TAG;
 import static notesapi.common.TestData.ANY_TITLE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
 public class NotesControllerTest {
 
     @Autowired
@@ -33,6 +54,9 @@ public class NotesControllerTest {
     @Autowired
     private NoteRepository noteRepository;
 
+    @LocalServerPort
+    private int port;
+
     @BeforeEach
     void setUp() {
         noteRepository.deleteAll().block();
@@ -64,6 +88,27 @@ public class NotesControllerTest {
                     });
         }
 
+        @Test
+        void should_return_not_modified_when_etag_matches() {
+            noteRepository.save(createNote()).block();
+
+            String etag = webTestClient.get()
+                    .uri("/notes/{id}", ANY_ID)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                    .returnResult(NoteResponse.class)
+                    .getResponseHeaders()
+                    .getETag();
+
+            webTestClient.get()
+                    .uri("/notes/{id}", ANY_ID)
+                    .ifNoneMatch(etag)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectBody().isEmpty();
+        }
+
         @Test
         void should_return_not_found_when_note_does_not_exist() {
             webTestClient.get()
@@ -75,6 +120,40 @@ public class NotesControllerTest {
         }
     }
 
+    @Nested
+    class MultiGetNotes {
+
+        @Test
+        void should_return_notes_in_request_order_with_not_found_markers() {
+            noteRepository.save(createNote("1", LocalDateTime.now())).block();
+            noteRepository.save(createNote("2", LocalDateTime.now())).block();
+
+            webTestClient.post()
+                    .uri("/notes/_mget")
+                    .bodyValue(new MultiGetRequest(List.of("2", "missing", "1")))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items.length()").isEqualTo(3)
+                    .jsonPath("$.items[0].id").isEqualTo("2")
+                    .jsonPath("$.items[0].found").isEqualTo(true)
+                    .jsonPath("$.items[0].note.title").isEqualTo(ANY_TITLE)
+                    .jsonPath("$.items[1].id").isEqualTo("missing")
+                    .jsonPath("$.items[1].found").isEqualTo(false)
+                    .jsonPath("$.items[1].note").doesNotExist()
+                    .jsonPath("$.items[2].note.id").isEqualTo("1");
+        }
+
+        @Test
+        void should_return_bad_request_when_no_ids_are_sent() {
+            webTestClient.post()
+                    .uri("/notes/_mget")
+                    .bodyValue(new MultiGetRequest(List.of()))
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
     @Nested
     class GetAllNotes {
 
@@ -108,6 +187,247 @@ public class NotesControllerTest {
                     .jsonPath("$.totalItems").isEqualTo(0)
                     .jsonPath("$.totalPages").isEqualTo(0);
         }
+
+        @Test
+        void should_skip_totals_when_not_requested() {
+            noteRepository.save(createNote()).block();
+
+            webTestClient.get()
+                    .uri("/notes?page=0&size=10&withTotal=false")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items.length()").isEqualTo(1)
+                    .jsonPath("$.currentPage").isEqualTo(0)
+                    .jsonPath("$.totalItems").doesNotExist()
+                    .jsonPath("$.totalPages").doesNotExist();
+        }
+
+        @Test
+        void should_walk_notes_with_cursor_pagination() {
+            LocalDateTime now = LocalDateTime.now();
+            noteRepository.save(createNote("1", now.minusMinutes(2))).block();
+            noteRepository.save(createNote("2", now.minusMinutes(1))).block();
+            noteRepository.save(createNote("3", now)).block();
+
+            PaginatedResponse firstPage = webTestClient.get()
+                    .uri("/notes?size=2&cursor=")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(PaginatedResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertThat(firstPage).isNotNull();
+            assertThat(firstPage.items()).extracting(NoteResponse::id).containsExactly("3", "2");
+            assertThat(firstPage.prevCursor()).isNull();
+            assertThat(firstPage.totalItems()).isNull();
+
+            webTestClient.get()
+                    .uri("/notes?size=2&cursor={cursor}", firstPage.nextCursor())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items.length()").isEqualTo(1)
+                    .jsonPath("$.items[0].id").isEqualTo("1")
+                    .jsonPath("$.nextCursor").doesNotExist()
+                    .jsonPath("$.prevCursor").exists();
+        }
+
+        @Test
+        void should_return_bad_request_when_cursor_is_malformed() {
+            webTestClient.get()
+                    .uri("/notes?cursor=not-a-cursor")
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+    }
+
+    @Nested
+    class FilterNotesByTags {
+
+        @Test
+        void should_list_notes_carrying_all_or_any_of_the_tags() {
+            noteRepository.save(createNote("1", LocalDateTime.now().minusMinutes(2)).toBuilder().tags(List.of(ANY_TAG, ANY_OTHER_TAG)).build()).block();
+            noteRepository.save(createNote("2", LocalDateTime.now().minusMinutes(1))).block();
+            noteRepository.save(createNote("3", LocalDateTime.now()).toBuilder().tags(List.of(ANY_OTHER_TAG)).build()).block();
+
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/notes")
+                            .queryParam("tags", ANY_TAG, ANY_OTHER_TAG)
+                            .queryParam("match", "all")
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items[*].id").isEqualTo(List.of("1"))
+                    .jsonPath("$.totalItems").isEqualTo(1);
+
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/notes")
+                            .queryParam("tags", ANY_TAG, ANY_OTHER_TAG)
+                            .queryParam("match", "any")
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items[*].id").isEqualTo(List.of("3", "2", "1"))
+                    .jsonPath("$.totalItems").isEqualTo(3);
+        }
+
+        @Test
+        void should_count_notes_per_tag() {
+            String tag = "tag-" + System.nanoTime();
+            for (int i = 0; i < 2; i++) {
+                webTestClient.post()
+                        .uri("/notes")
+                        .bodyValue(new NoteRequest(ANY_TITLE, ANY_CONTENT, List.of(tag)))
+                        .exchange()
+                        .expectStatus().isOk();
+            }
+
+            webTestClient.get()
+                    .uri("/tags")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$[?(@.tag == '%s')].count".formatted(tag)).isEqualTo(List.of(2));
+        }
+    }
+
+    @Nested
+    class SparseFieldsets {
+
+        @Test
+        void should_return_only_the_requested_fields() {
+            noteRepository.save(createNote("1", LocalDateTime.now())).block();
+
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/notes")
+                            .queryParam("fields", "id,title,tags,updatedAt")
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items[0].id").isEqualTo("1")
+                    .jsonPath("$.items[0].title").isEqualTo(ANY_TITLE)
+                    .jsonPath("$.items[0].updatedAt").exists()
+                    .jsonPath("$.items[0].version").exists()
+                    .jsonPath("$.items[0].content").doesNotExist()
+                    .jsonPath("$.items[0].contentPreview").doesNotExist()
+                    .jsonPath("$.items[0].createdAt").doesNotExist();
+        }
+
+        @Test
+        void should_return_a_truncated_content_preview() {
+            String keyword = "preview" + System.nanoTime();
+            webTestClient.post()
+                    .uri("/notes")
+                    .bodyValue(new NoteRequest(keyword, ANY_CONTENT, List.of(ANY_TAG)))
+                    .exchange()
+                    .expectStatus().isOk();
+
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/notes/search")
+                            .queryParam("keyword", keyword)
+                            .queryParam("fields", "title,contentPreview")
+                            .queryParam("previewLength", 3)
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.items[0].title").isEqualTo(keyword)
+                    .jsonPath("$.items[0].contentPreview").isEqualTo(ANY_CONTENT.substring(0, 3))
+                    .jsonPath("$.items[0].content").doesNotExist();
+        }
+
+        @Test
+        void should_reject_unknown_fields() {
+            webTestClient.get()
+                    .uri("/notes?fields=title,body")
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.error").isEqualTo("Invalid fields");
+        }
+    }
+
+    @Nested
+    class ExportNotes {
+
+        @Test
+        void should_stream_notes_matching_the_filter_as_ndjson() {
+            LocalDateTime now = LocalDateTime.now();
+            noteRepository.save(createNote("1", now)).block();
+            noteRepository.save(createNote("2", now).toBuilder().tags(List.of(ANY_OTHER_TAG)).build()).block();
+
+            webTestClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/notes/_export").queryParam("tags", ANY_OTHER_TAG).build())
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .returnResult(NoteResponse.class)
+                    .getResponseBody()
+                    .map(NoteResponse::id)
+                    .as(StepVerifier::create)
+                    .expectNext("2")
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    class StreamChanges {
+
+        @Test
+        void should_stream_changes_as_server_sent_events() {
+            Flux<ServerSentEvent<NoteChangeResponse>> changes = webTestClient.get()
+                    .uri("/notes/_changes")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(new ParameterizedTypeReference<ServerSentEvent<NoteChangeResponse>>() {
+                    })
+                    .getResponseBody()
+                    .filter(event -> event.data() != null);
+
+            StepVerifier.create(changes)
+                    .then(() -> webTestClient.post()
+                            .uri("/notes")
+                            .bodyValue(new NoteRequest(ANY_TITLE, ANY_CONTENT, List.of(ANY_TAG)))
+                            .exchange()
+                            .expectStatus().isOk())
+                    .assertNext(event -> {
+                        assertThat(event.event()).isEqualTo("created");
+                        assertThat(event.id()).isNotBlank();
+                        assertThat(event.data().note().title()).isEqualTo(ANY_TITLE);
+                    })
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+        }
+
+        @Test
+        void should_send_a_reset_event_when_the_resume_token_cannot_be_replayed() {
+            Flux<ServerSentEvent<NoteChangeResponse>> changes = webTestClient.get()
+                    .uri("/notes/_changes?resumeToken={token}", "another-instance.42")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .returnResult(new ParameterizedTypeReference<ServerSentEvent<NoteChangeResponse>>() {
+                    })
+                    .getResponseBody()
+                    .filter(event -> event.data() != null);
+
+            StepVerifier.create(changes)
+                    .assertNext(event -> {
+                        assertThat(event.event()).isEqualTo("reset");
+                        assertThat(event.id()).isNotBlank();
+                        assertThat(event.data().type()).isEqualTo("reset");
+                        assertThat(event.data().note()).isNull();
+                    })
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(5));
+        }
     }
 
     @Nested
@@ -225,6 +545,28 @@ public class NotesControllerTest {
                     .expectBody(String.class)
                     .value(body -> assertThat(body).contains(NOTE_NOT_FOUND_ERROR_MESSAGE));
         }
+
+        @Test
+        void should_return_precondition_failed_when_if_match_is_stale() {
+            Note savedNote = noteRepository.save(createNote()).block();
+            NoteRequest request = new NoteRequest(ANY_OTHER_TITLE, ANY_OTHER_CONTENT, List.of(ANY_OTHER_TAG));
+            String currentETag = "\"" + savedNote.getId() + "-" + savedNote.getVersion() + "\"";
+
+            webTestClient.put()
+                    .uri("/notes/{id}", savedNote.getId())
+                    .header(HttpHeaders.IF_MATCH, currentETag)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + savedNote.getId() + "-" + (savedNote.getVersion() + 1) + "\"");
+
+            webTestClient.put()
+                    .uri("/notes/{id}", savedNote.getId())
+                    .header(HttpHeaders.IF_MATCH, currentETag)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        }
     }
 
     @Nested
@@ -255,6 +597,160 @@ public class NotesControllerTest {
         }
     }
 
+    @Nested
+    class BulkNotes {
+
+        @Test
+        void should_return_a_result_per_item_when_writing_in_bulk() {
+            noteRepository.save(createNote()).block();
+            NoteRequest note = new NoteRequest(ANY_OTHER_TITLE, ANY_OTHER_CONTENT, List.of(ANY_OTHER_TAG));
+            List<BulkNoteRequest> requests = List.of(
+                    new BulkNoteRequest(BulkNoteRequest.Op.CREATE, null, note),
+                    new BulkNoteRequest(BulkNoteRequest.Op.UPDATE, ANY_ID, note),
+                    new BulkNoteRequest(BulkNoteRequest.Op.DELETE, "non-existent-id", null),
+                    new BulkNoteRequest(BulkNoteRequest.Op.CREATE, null, new NoteRequest("", ANY_CONTENT, List.of(ANY_TAG))));
+
+            webTestClient.post()
+                    .uri("/notes/_bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(requests)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(BulkItemResponse.class)
+                    .value(results -> assertThat(results)
+                            .extracting(BulkItemResponse::index, BulkItemResponse::status)
+                            .containsExactlyInAnyOrder(
+                                    tuple(0L, "created"),
+                                    tuple(1L, "updated"),
+                                    tuple(2L, "not_found"),
+                                    tuple(3L, "invalid")));
+
+            Note updatedNote = noteRepository.findById(ANY_ID).block();
+            assertThat(updatedNote.getTitle()).isEqualTo(ANY_OTHER_TITLE);
+            assertThat(noteRepository.count().block()).isEqualTo(2L);
+        }
+    }
+
+    @Nested
+    class ContentNegotiation {
+
+        private static final String VARIED = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+        @Test
+        void should_compress_large_responses_with_the_requested_encoding() {
+            noteRepository.save(createNote().toBuilder().content("x".repeat(4096)).build()).block();
+
+            WebTestClient rawClient = WebTestClient.bindToServer(new ReactorClientHttpConnector(HttpClient.create()))
+                    .baseUrl("http://localhost:" + port)
+                    .build();
+
+            for (String encoding : List.of("gzip", "br", "zstd")) {
+                rawClient.get()
+                        .uri("/notes")
+                        .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, encoding);
+            }
+        }
+
+        @Test
+        void should_not_compress_small_responses() {
+            webTestClient.get()
+                    .uri("/notes")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING);
+        }
+
+        @Test
+        void should_encode_pages_as_cbor_or_smile_when_accepted() throws Exception {
+            noteRepository.save(createNote()).block();
+
+            byte[] cbor = webTestClient.get()
+                    .uri("/notes")
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                    .expectBody(byte[].class)
+                    .returnResult()
+                    .getResponseBody();
+            byte[] smile = webTestClient.get()
+                    .uri("/notes")
+                    .accept(MediaType.valueOf("application/x-jackson-smile"))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(byte[].class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertThat(new CBORMapper().readTree(cbor).at("/items/0/id").asText()).isEqualTo(ANY_ID);
+            assertThat(new SmileMapper().readTree(smile).at("/items/0/id").asText()).isEqualTo(ANY_ID);
+        }
+
+        @Test
+        void should_give_each_format_its_own_etag_and_vary_by_accept_and_encoding() {
+            noteRepository.save(createNote()).block();
+
+            String json = webTestClient.get()
+                    .uri("/notes/{id}", ANY_ID)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.VARY, VARIED)
+                    .returnResult(byte[].class)
+                    .getResponseHeaders()
+                    .getETag();
+            String cbor = webTestClient.get()
+                    .uri("/notes/{id}", ANY_ID)
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.VARY, VARIED)
+                    .returnResult(byte[].class)
+                    .getResponseHeaders()
+                    .getETag();
+
+            assertThat(cbor).isNotEqualTo(json);
+            webTestClient.get()
+                    .uri("/notes/{id}", ANY_ID)
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .ifNoneMatch(json)
+                    .exchange()
+                    .expectStatus().isOk();
+            webTestClient.get()
+                    .uri("/notes/{id}", ANY_ID)
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .ifNoneMatch(cbor)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.VARY, VARIED);
+        }
+    }
+
+    @Nested
+    class Metrics {
+
+        @Test
+        void should_expose_repository_timings_in_prometheus_format() {
+            noteRepository.save(createNote()).block();
+            webTestClient.get().uri("/notes/{id}", ANY_ID).exchange().expectStatus().isOk();
+
+            webTestClient.get()
+                    .uri("/actuator/prometheus")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class)
+                    .value(body -> assertThat(body)
+                            .contains("notes_repository_seconds_bucket")
+                            .contains("notes_repository_results_bucket")
+                            .contains("http_server_requests_seconds_bucket")
+                            .contains("cache_gets_total{cache=\"notes\""));
+        }
+    }
+
     private Note createNote() {
         return Note.builder()
                 .id(ANY_ID)
@@ -265,4 +761,15 @@ public class NotesControllerTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
+
+    private Note createNote(String id, LocalDateTime createdAt) {
+        return Note.builder()
+                .id(id)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(List.of(ANY_TAG))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
 }
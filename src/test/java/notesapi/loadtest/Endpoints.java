@@ -0,0 +1,33 @@
+package notesapi.loadtest;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+final class Endpoints {
+
+    private static final List<Route> ROUTES = List.of(
+            new Route(Pattern.compile("^/notes/?$"), "/notes"),
+            new Route(Pattern.compile("^/notes/search$"), "/notes/search"),
+            new Route(Pattern.compile("^/notes/_bulk$"), "/notes/_bulk"),
+            new Route(Pattern.compile("^/notes/_export$"), "/notes/_export"),
+            new Route(Pattern.compile("^/notes/_changes$"), "/notes/_changes"),
+            new Route(Pattern.compile("^/notes/_mget$"), "/notes/_mget"),
+            new Route(Pattern.compile("^/notes/[^/]+$"), "/notes/{id}")
+    );
+
+    private Endpoints() {
+    }
+
+    static String route(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query >= 0 ? path.substring(0, query) : path;
+        return ROUTES.stream()
+                .filter(route -> route.pattern().matcher(withoutQuery).matches())
+                .map(Route::template)
+                .findFirst()
+                .orElse(withoutQuery);
+    }
+
+    private record Route(Pattern pattern, String template) {
+    }
+}
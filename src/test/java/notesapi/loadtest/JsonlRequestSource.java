@@ -0,0 +1,40 @@
+package notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+final class JsonlRequestSource {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonlRequestSource() {
+    }
+
+    static RequestSource load(Path file) throws IOException {
+        try (var lines = Files.lines(file)) {
+            List<LoadRequest> requests = lines
+                    .filter(line -> !line.isBlank())
+                    .map(JsonlRequestSource::parse)
+                    .toList();
+            return new ReplayRequestSource(requests);
+        }
+    }
+
+    private static LoadRequest parse(String line) {
+        try {
+            JsonNode entry = MAPPER.readTree(line);
+            JsonNode body = entry.get("body");
+            String rawBody = body == null || body.isNull() ? null : body.isTextual() ? body.asText() : body.toString();
+            return new LoadRequest(HttpMethod.valueOf(entry.path("method").asText("GET")), entry.path("path").asText(), rawBody);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed request log line: " + line, e);
+        }
+    }
+}
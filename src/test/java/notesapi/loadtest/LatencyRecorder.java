@@ -0,0 +1,63 @@
+package notesapi.loadtest;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, int status, long latencyNanos) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).record(status, latencyNanos);
+    }
+
+    List<EndpointReport> report(double elapsedSeconds) {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().report(entry.getKey(), elapsedSeconds))
+                .sorted(Comparator.comparing(EndpointReport::endpoint))
+                .toList();
+    }
+
+    record EndpointReport(String endpoint, long requests, long clientErrors, long serverErrors, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    private static final class Endpoint {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long clientErrors;
+        private long serverErrors;
+
+        synchronized void record(int status, long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status >= 400 && status < 500) {
+                clientErrors++;
+            } else if (status >= 500 || status == 0) {
+                serverErrors++;
+            }
+        }
+
+        synchronized EndpointReport report(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new EndpointReport(endpoint, count, clientErrors, serverErrors, count / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    count > 0 ? sorted[count - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package notesapi.loadtest;
+
+import org.springframework.http.HttpMethod;
+
+record LoadRequest(HttpMethod method, String path, String body) {
+
+    String endpoint() {
+        return method.name() + " " + Endpoints.route(path);
+    }
+}
@@ -0,0 +1,112 @@
+package notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadTest {
+
+    private final LoadTestOptions options;
+    private final WebClient client;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    LoadTest(LoadTestOptions options, WebClient client) {
+        this.options = options;
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConnectionProvider connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(options.connections())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5_000)
+                .responseTimeout(Duration.ofSeconds(30));
+        WebClient client = WebClient.builder()
+                .baseUrl(options.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        try {
+            RequestSource source = RequestSource.from(options.source(), client, options.seedNotes());
+            List<LatencyRecorder.EndpointReport> report = new LoadTest(options, client).run(source);
+            print(report);
+            Files.createDirectories(options.report().toAbsolutePath().getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(options.report().toFile(), report);
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    List<LatencyRecorder.EndpointReport> run(RequestSource source) {
+        long intervalNanos = 1_000_000_000L / options.rps();
+        long warmupRequests = options.warmup().toNanos() / intervalNanos;
+        long totalRequests = warmupRequests + options.duration().toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        AtomicLong firstSent = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong lastCompleted = new AtomicLong(Long.MIN_VALUE);
+
+        Flux.interval(Duration.ofNanos(intervalNanos))
+                .take(totalRequests)
+                .onBackpressureBuffer()
+                .flatMap(tick -> {
+                    long intendedStart = start + (tick + 1) * intervalNanos;
+                    boolean measured = tick >= warmupRequests;
+                    LoadRequest request = source.next();
+                    return send(request)
+                            .doOnSubscribe(subscription -> {
+                                if (measured) {
+                                    firstSent.accumulateAndGet(System.nanoTime(), Math::min);
+                                }
+                            })
+                            .doOnNext(status -> {
+                                if (measured) {
+                                    long completed = System.nanoTime();
+                                    recorder.record(request.endpoint(), status, completed - intendedStart);
+                                    lastCompleted.accumulateAndGet(completed, Math::max);
+                                }
+                            });
+                }, options.connections())
+                .blockLast();
+
+        // When the server falls behind, sending and completing take longer than the configured duration, so the
+        // throughput is taken over the time the measured requests actually took
+        long elapsed = firstSent.get() != Long.MAX_VALUE ? lastCompleted.get() - firstSent.get() : 0;
+        return recorder.report((elapsed > 0 ? elapsed : options.duration().toNanos()) / 1e9);
+    }
+
+    private Mono<Integer> send(LoadRequest request) {
+        WebClient.RequestBodySpec spec = client.method(request.method()).uri(request.path());
+        WebClient.RequestHeadersSpec<?> ready = request.body() != null
+                ? spec.contentType(MediaType.APPLICATION_JSON).bodyValue(request.body())
+                : spec;
+        return ready.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .onErrorReturn(0);
+    }
+
+    private static void print(List<LatencyRecorder.EndpointReport> report) {
+        System.out.printf("%-26s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "4xx", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (LatencyRecorder.EndpointReport endpoint : report) {
+            System.out.printf("%-26s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.clientErrors(), endpoint.serverErrors(),
+                    endpoint.throughput(), endpoint.p50Millis(), endpoint.p99Millis(), endpoint.p999Millis(),
+                    endpoint.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package notesapi.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+record LoadTestOptions(String baseUrl, String source, int rps, Duration duration, Duration warmup, int connections,
+                       int seedNotes, Path report) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("source", "synthetic"),
+                Integer.parseInt(values.getOrDefault("rps", "100")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "5s")),
+                Integer.parseInt(values.getOrDefault("connections", "64")),
+                Integer.parseInt(values.getOrDefault("seed-notes", "200")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json"))
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class PostmanRequestSource {
+
+    private PostmanRequestSource() {
+    }
+
+    static RequestSource load(Path file) throws IOException {
+        JsonNode collection = new ObjectMapper().readTree(file.toFile());
+        Map<String, String> variables = new HashMap<>();
+        collection.path("variable").forEach(variable ->
+                variables.put(variable.path("key").asText(), variable.path("value").asText()));
+
+        List<LoadRequest> requests = new ArrayList<>();
+        collect(collection.path("item"), variables, requests);
+        return new ReplayRequestSource(requests);
+    }
+
+    private static void collect(JsonNode items, Map<String, String> variables, List<LoadRequest> requests) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.path("item"), variables, requests);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            String rawUrl = resolve(url.isTextual() ? url.asText() : url.path("raw").asText(), variables);
+            String body = request.path("body").path("raw").asText(null);
+            HttpMethod method = HttpMethod.valueOf(request.path("method").asText("GET"));
+            requests.add(new LoadRequest(method, pathOf(rawUrl), method == HttpMethod.GET ? null : resolve(body, variables)));
+        }
+    }
+
+    private static String pathOf(String rawUrl) {
+        URI uri = URI.create(rawUrl.contains("://") ? rawUrl : "http://localhost" + (rawUrl.startsWith("/") ? "" : "/") + rawUrl);
+        return uri.getRawQuery() != null ? uri.getRawPath() + "?" + uri.getRawQuery() : uri.getRawPath();
+    }
+
+    private static String resolve(String value, Map<String, String> variables) {
+        if (value == null) {
+            return null;
+        }
+        String resolved = value;
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            resolved = resolved.replace("{{" + variable.getKey() + "}}", variable.getValue());
+        }
+        return resolved;
+    }
+}
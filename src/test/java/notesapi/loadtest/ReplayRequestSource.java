@@ -0,0 +1,21 @@
+package notesapi.loadtest;
+
+import java.util.List;
+
+class ReplayRequestSource implements RequestSource {
+
+    private final List<LoadRequest> requests;
+    private long position;
+
+    ReplayRequestSource(List<LoadRequest> requests) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("There are no requests to replay");
+        }
+        this.requests = requests;
+    }
+
+    @Override
+    public LoadRequest next() {
+        return requests.get((int) (position++ % requests.size()));
+    }
+}
@@ -0,0 +1,29 @@
+package notesapi.loadtest;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+interface RequestSource {
+
+    Path POSTMAN_COLLECTION = Path.of("postman", "collections", "Notes API.postman_collection.json");
+
+    LoadRequest next();
+
+    static RequestSource from(String source, WebClient client, int seedNotes) throws IOException {
+        if ("postman".equals(source)) {
+            return PostmanRequestSource.load(POSTMAN_COLLECTION);
+        }
+        if (source.startsWith("postman:")) {
+            return PostmanRequestSource.load(Path.of(source.substring("postman:".length())));
+        }
+        if (source.startsWith("jsonl:")) {
+            return JsonlRequestSource.load(Path.of(source.substring("jsonl:".length())));
+        }
+        if ("synthetic".equals(source)) {
+            return SyntheticRequestSource.seed(client, seedNotes);
+        }
+        throw new IllegalArgumentException("Unknown source " + source + ", expected synthetic, postman, postman:<file> or jsonl:<file>");
+    }
+}
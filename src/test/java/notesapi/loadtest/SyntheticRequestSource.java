@@ -0,0 +1,69 @@
+package notesapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+class SyntheticRequestSource implements RequestSource {
+
+    private static final String[] WORDS = {"meeting", "groceries", "project", "review", "deadline", "budget", "release", "travel"};
+
+    private final List<String> ids;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    private SyntheticRequestSource(List<String> ids) {
+        this.ids = ids;
+    }
+
+    static SyntheticRequestSource seed(WebClient client, int notes) {
+        SyntheticRequestSource source = new SyntheticRequestSource(List.of());
+        List<String> ids = Flux.range(0, notes)
+                .flatMap(index -> client.post()
+                        .uri("/notes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(source.noteBody())
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .map(note -> note.path("id").asText()), 16)
+                .collectList()
+                .block();
+        return new SyntheticRequestSource(ids);
+    }
+
+    @Override
+    public LoadRequest next() {
+        int roll = random.nextInt(100);
+        if (roll < 50) {
+            return new LoadRequest(HttpMethod.GET, "/notes/" + anyId(), null);
+        }
+        if (roll < 70) {
+            return new LoadRequest(HttpMethod.GET, "/notes?page=" + random.nextInt(5) + "&size=10", null);
+        }
+        if (roll < 85) {
+            return new LoadRequest(HttpMethod.GET, "/notes/search?keyword=" + word() + "&size=10", null);
+        }
+        if (roll < 95) {
+            return new LoadRequest(HttpMethod.POST, "/notes", noteBody());
+        }
+        return new LoadRequest(HttpMethod.PUT, "/notes/" + anyId(), noteBody());
+    }
+
+    private String anyId() {
+        return ids.isEmpty() ? "missing-id" : ids.get(random.nextInt(ids.size()));
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String noteBody() {
+        return """
+                {"title":"%s %s","content":"%s %s %s %s","tags":["%s"]}
+                """.formatted(word(), word(), word(), word(), word(), word(), word()).strip();
+    }
+}
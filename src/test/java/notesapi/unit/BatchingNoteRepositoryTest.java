@@ -0,0 +1,145 @@
+package notesapi.unit;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.WriteBatchingProperties;
+import notesapi.infraestructure.repository.BatchingNoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_ID;
+import static notesapi.common.TestData.ANY_TAG;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchingNoteRepositoryTest {
+
+    @Mock
+    private NoteRepository delegate;
+
+    private BatchingNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BatchingNoteRepository(delegate, new WriteBatchingProperties(true, 3, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void should_insert_concurrent_notes_in_a_single_batch() {
+        when(delegate.bulkWrite(any())).thenAnswer(invocation -> invocation.<Flux<NoteOperation>>getArgument(0)
+                .map(operation -> NoteOperationResult.created(operation,
+                        operation.note().toBuilder().id("id-" + operation.index()).version(0L).build())));
+
+        Flux<String> ids = Flux.merge(
+                repository.save(createNote("first")),
+                repository.save(createNote("second")),
+                repository.save(createNote("third"))
+        ).map(note -> note.getTitle() + "=" + note.getId());
+
+        StepVerifier.create(ids.collectList())
+                .expectNextMatches(saved -> saved.containsAll(List.of("first=id-0", "second=id-1", "third=id-2")))
+                .verifyComplete();
+        verify(delegate, times(1)).bulkWrite(any());
+        verify(delegate, never()).save(any());
+    }
+
+    @Test
+    void should_flush_a_partial_batch_after_the_deadline() {
+        repository = new BatchingNoteRepository(delegate, new WriteBatchingProperties(true, 100, Duration.ofMillis(10)));
+        when(delegate.bulkWrite(any())).thenAnswer(invocation -> invocation.<Flux<NoteOperation>>getArgument(0)
+                .map(operation -> NoteOperationResult.created(operation, operation.note().toBuilder().id(ANY_ID).build())));
+
+        StepVerifier.create(repository.save(createNote(ANY_TITLE)).map(Note::getId))
+                .expectNext(ANY_ID)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_fail_only_the_callers_whose_insert_failed() {
+        when(delegate.bulkWrite(any())).thenAnswer(invocation -> invocation.<Flux<NoteOperation>>getArgument(0)
+                .map(operation -> {
+                    NoteOperationResult created = NoteOperationResult.created(operation,
+                            operation.note().toBuilder().id("id-" + operation.index()).build());
+                    return operation.index() == 1 ? created.failed("duplicate key") : created;
+                }));
+
+        Mono<Note> first = repository.save(createNote("first")).cache();
+        Mono<Note> second = repository.save(createNote("second")).cache();
+        Mono<Note> third = repository.save(createNote("third")).cache();
+        first.subscribe(note -> { }, error -> { });
+        second.subscribe(note -> { }, error -> { });
+        third.subscribe(note -> { }, error -> { });
+
+        StepVerifier.create(first.map(Note::getId)).expectNext("id-0").verifyComplete();
+        StepVerifier.create(second).verifyErrorMatches(error -> error instanceof DataAccessResourceFailureException
+                && error.getMessage().contains("duplicate key"));
+        StepVerifier.create(third.map(Note::getId)).expectNext("id-2").verifyComplete();
+    }
+
+    @Test
+    void should_fail_inserts_the_delegate_returned_no_result_for() {
+        when(delegate.bulkWrite(any())).thenAnswer(invocation -> invocation.<Flux<NoteOperation>>getArgument(0)
+                .filter(operation -> operation.index() == 0)
+                .map(operation -> NoteOperationResult.created(operation, operation.note().toBuilder().id(ANY_ID).build())));
+
+        Mono<Note> first = repository.save(createNote("first")).cache();
+        Mono<Note> second = repository.save(createNote("second")).cache();
+        Mono<Note> third = repository.save(createNote("third")).cache();
+        first.subscribe(note -> { }, error -> { });
+        second.subscribe(note -> { }, error -> { });
+        third.subscribe(note -> { }, error -> { });
+
+        StepVerifier.create(first.map(Note::getId)).expectNext(ANY_ID).verifyComplete();
+        StepVerifier.create(second).verifyError(DataAccessResourceFailureException.class);
+        StepVerifier.create(third).verifyError(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void should_fail_waiting_inserts_and_save_directly_once_disposed() {
+        Note saved = createNote(ANY_TITLE).toBuilder().id(ANY_ID).build();
+        when(delegate.save(any())).thenReturn(Mono.just(saved));
+        Mono<Note> waiting = repository.save(createNote("waiting")).cache();
+        waiting.subscribe(note -> { }, error -> { });
+
+        repository.dispose();
+
+        StepVerifier.create(waiting).verifyError(DataAccessResourceFailureException.class);
+        StepVerifier.create(repository.save(createNote(ANY_TITLE))).expectNext(saved).verifyComplete();
+        verify(delegate, never()).bulkWrite(any());
+    }
+
+    @Test
+    void should_save_existing_notes_directly() {
+        Note note = createNote(ANY_TITLE).toBuilder().id(ANY_ID).build();
+        when(delegate.save(note)).thenReturn(Mono.just(note));
+
+        StepVerifier.create(repository.save(note)).expectNext(note).verifyComplete();
+        verify(delegate, never()).bulkWrite(any());
+    }
+
+    private static Note createNote(String title) {
+        return Note.builder()
+                .title(title)
+                .content(ANY_CONTENT)
+                .tags(List.of(ANY_TAG))
+                .build();
+    }
+}
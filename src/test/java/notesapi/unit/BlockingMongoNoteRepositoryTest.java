@@ -0,0 +1,167 @@
+package notesapi.unit;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.infraestructure.config.BulkProperties;
+import notesapi.infraestructure.config.ExportProperties;
+import notesapi.infraestructure.repository.BlockingMongoNoteRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_ID;
+import static notesapi.common.TestData.ANY_TAG;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BlockingMongoNoteRepositoryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private BulkOperations bulkOps;
+
+    private BlockingMongoNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BlockingMongoNoteRepository(mongoTemplate, new BulkProperties(2), new ExportProperties(100),
+                Schedulers.immediate());
+    }
+
+    @Test
+    void should_write_chunks_of_creates_unordered_and_fail_only_the_rejected_insert() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenThrow(bulkFailure(0));
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(create(0), create(1))))
+                .assertNext(result -> assertThat(result.status()).isEqualTo(NoteOperationResult.Status.FAILED))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(NoteOperationResult.Status.CREATED);
+                    assertThat(result.note().getId()).isNotBlank();
+                })
+                .verifyComplete();
+        verify(bulkOps, times(2)).insert(any(Object.class));
+    }
+
+    @Test
+    void should_write_mixed_chunks_in_order_and_skip_what_follows_a_failure() {
+        Note existing = createNote().toBuilder().id(ANY_ID).version(0L).build();
+        when(mongoTemplate.find(any(Query.class), eq(Note.class))).thenReturn(List.of(existing));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Note.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenThrow(bulkFailure(0));
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(update(0, ANY_ID), delete(1, ANY_ID))))
+                .assertNext(result -> assertThat(result.status()).isEqualTo(NoteOperationResult.Status.FAILED))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(NoteOperationResult.Status.FAILED);
+                    assertThat(result.error()).contains("Not executed");
+                })
+                .verifyComplete();
+        InOrder order = inOrder(bulkOps);
+        order.verify(bulkOps).updateOne(any(Query.class), any(Update.class));
+        order.verify(bulkOps).remove(any(Query.class));
+    }
+
+    @Test
+    void should_split_operations_into_chunks_and_keep_their_order() {
+        when(mongoTemplate.find(any(Query.class), eq(Note.class))).thenReturn(List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Note.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenReturn(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()));
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(create(0), create(1), delete(2, "missing"), create(3)))
+                        .map(NoteOperationResult::index))
+                .expectNext(0L, 1L, 2L, 3L)
+                .verifyComplete();
+        verify(mongoTemplate, never()).bulkOps(eq(BulkOperations.BulkMode.ORDERED), eq(Note.class));
+        verify(bulkOps, times(2)).execute();
+    }
+
+    @Test
+    void should_update_only_the_version_that_was_read_and_report_conflicts() {
+        Note existing = createNote().toBuilder().id(ANY_ID).version(3L).build();
+        Note concurrent = existing.toBuilder().title("concurrent").version(4L).build();
+        when(mongoTemplate.find(any(Query.class), eq(Note.class))).thenReturn(List.of(existing), List.of(concurrent));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Note.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(update(0, ANY_ID))))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(NoteOperationResult.Status.FAILED);
+                    assertThat(result.error()).contains("concurrent write");
+                })
+                .verifyComplete();
+        verify(bulkOps).updateOne(argThat((Query query) -> Long.valueOf(3L).equals(query.getQueryObject().get("version"))),
+                any(Update.class));
+    }
+
+    @Test
+    void should_confirm_chained_updates_up_to_the_stored_version() {
+        Note existing = createNote().toBuilder().id(ANY_ID).version(0L).build();
+        Note firstApplied = existing.toBuilder().title("changed").version(1L).build();
+        when(mongoTemplate.find(any(Query.class), eq(Note.class))).thenReturn(List.of(existing), List.of(firstApplied));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Note.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(update(0, ANY_ID), update(1, ANY_ID)))
+                        .map(NoteOperationResult::status))
+                .expectNext(NoteOperationResult.Status.UPDATED, NoteOperationResult.Status.FAILED)
+                .verifyComplete();
+    }
+
+    private static BulkOperationException bulkFailure(int index) {
+        BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), index);
+        return new BulkOperationException("bulk write failed", new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                List.of(error), null, new ServerAddress(), Set.of()));
+    }
+
+    private static NoteOperation create(long index) {
+        return new NoteOperation(index, NoteOperation.Type.CREATE, null, createNote());
+    }
+
+    private static NoteOperation update(long index, String id) {
+        return new NoteOperation(index, NoteOperation.Type.UPDATE, id, createNote().toBuilder().title("changed").build());
+    }
+
+    private static NoteOperation delete(long index, String id) {
+        return new NoteOperation(index, NoteOperation.Type.DELETE, id, null);
+    }
+
+    private static Note createNote() {
+        return Note.builder()
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(List.of(ANY_TAG))
+                .build();
+    }
+}
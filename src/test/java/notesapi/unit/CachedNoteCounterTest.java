@@ -0,0 +1,60 @@
+package notesapi.unit;
+
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.model.Note;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.infraestructure.config.CountProperties;
+import notesapi.infraestructure.repository.CachedNoteCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static notesapi.common.TestData.ANY_ID;
+import static notesapi.common.TestData.ANY_KEYWORD;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachedNoteCounterTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private NoteSearchIndex noteSearchIndex;
+
+    private CachedNoteCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new CachedNoteCounter(noteRepository, noteSearchIndex, new CountProperties("cached", Duration.ofMinutes(1), 100));
+    }
+
+    @Test
+    void should_reuse_cached_count_until_a_note_changes() {
+        AtomicLong total = new AtomicLong(1);
+        when(noteRepository.count()).thenAnswer(invocation -> Mono.fromSupplier(total::getAndIncrement));
+
+        StepVerifier.create(counter.count()).expectNext(1L).verifyComplete();
+        StepVerifier.create(counter.count()).expectNext(1L).verifyComplete();
+
+        counter.onNoteChanged(NoteChangedEvent.created(Note.builder().id(ANY_ID).build()));
+
+        StepVerifier.create(counter.count()).expectNext(2L).verifyComplete();
+    }
+
+    @Test
+    void should_cache_counts_per_keyword() {
+        when(noteSearchIndex.count(ANY_KEYWORD)).thenReturn(Mono.just(4L));
+        when(noteSearchIndex.count("other")).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(counter.countByKeyword(ANY_KEYWORD)).expectNext(4L).verifyComplete();
+        StepVerifier.create(counter.countByKeyword("other")).expectNext(7L).verifyComplete();
+    }
+}
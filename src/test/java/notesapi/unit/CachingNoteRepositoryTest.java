@@ -0,0 +1,221 @@
+package notesapi.unit;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.NoteCacheProperties;
+import notesapi.infraestructure.repository.CachingNoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_ID;
+import static notesapi.common.TestData.ANY_TAG;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingNoteRepositoryTest {
+
+    @Mock
+    private NoteRepository delegate;
+
+    private CachingNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingNoteRepository(delegate, new NoteCacheProperties(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void should_read_through_and_serve_hits_from_memory() {
+        Note note = createNote();
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(note));
+
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(note).verifyComplete();
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(note).verifyComplete();
+
+        verify(delegate, times(1)).findById(ANY_ID);
+        assertThat(repository.stats().hitCount()).isEqualTo(1);
+        assertThat(repository.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_write_through_saved_notes() {
+        Note note = createNote();
+        when(delegate.save(note)).thenReturn(Mono.just(note));
+
+        repository.save(note).block();
+
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(note).verifyComplete();
+        verify(delegate, never()).findById(ANY_ID);
+    }
+
+    @Test
+    void should_not_let_concurrent_updates_leave_a_stale_version_cached() {
+        Note stored = createNote().toBuilder().version(0L).build();
+        Note latest = stored.toBuilder().title("second").version(2L).build();
+        Sinks.One<Note> first = Sinks.one();
+        Sinks.One<Note> second = Sinks.one();
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(stored), Mono.just(latest));
+        when(delegate.findAndUpdate(any(), any(), any())).thenReturn(first.asMono(), second.asMono());
+        repository.findById(ANY_ID).block();
+
+        CompletableFuture<Note> firstUpdate = repository.findAndUpdate(ANY_ID, null, stored.toBuilder().title("first").build()).toFuture();
+        CompletableFuture<Note> secondUpdate = repository.findAndUpdate(ANY_ID, null, stored.toBuilder().title("second").build()).toFuture();
+        second.tryEmitValue(stored.toBuilder().title("first").version(1L).build());
+        first.tryEmitValue(stored);
+
+        assertThat(firstUpdate).isDone();
+        assertThat(secondUpdate).isDone();
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(latest).verifyComplete();
+        verify(delegate, times(2)).findById(ANY_ID);
+    }
+
+    @Test
+    void should_keep_the_newer_version_when_saves_finish_out_of_order() {
+        Note older = createNote().toBuilder().version(1L).build();
+        Note newer = older.toBuilder().title("newer").version(2L).build();
+        when(delegate.save(any())).thenReturn(Mono.just(newer), Mono.just(older));
+
+        repository.save(newer).block();
+        repository.save(older).block();
+
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(newer).verifyComplete();
+        verify(delegate, never()).findById(ANY_ID);
+    }
+
+    @Test
+    void should_invalidate_deleted_notes() {
+        Note note = createNote();
+        when(delegate.save(note)).thenReturn(Mono.just(note));
+        when(delegate.deleteById(ANY_ID)).thenReturn(Mono.empty());
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.empty());
+        repository.save(note).block();
+
+        repository.deleteById(ANY_ID).block();
+
+        StepVerifier.create(repository.findById(ANY_ID)).verifyComplete();
+    }
+
+    @Test
+    void should_apply_bulk_results_to_the_cache() {
+        Note note = createNote();
+        NoteOperation create = new NoteOperation(0, NoteOperation.Type.CREATE, null, note);
+        NoteOperation delete = new NoteOperation(1, NoteOperation.Type.DELETE, ANY_ID, null);
+        when(delegate.bulkWrite(any())).thenReturn(
+                Flux.just(NoteOperationResult.created(create, note)),
+                Flux.just(NoteOperationResult.deleted(delete, note)));
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(create))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(note).verifyComplete();
+        StepVerifier.create(repository.bulkWrite(Flux.just(delete))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findById(ANY_ID)).verifyComplete();
+
+        verify(delegate, times(1)).findById(ANY_ID);
+    }
+
+    @Test
+    void should_not_cache_notes_planned_by_bulk_updates() {
+        Note stored = createNote().toBuilder().version(0L).build();
+        Note planned = stored.toBuilder().title("planned").version(1L).build();
+        NoteOperation update = new NoteOperation(0, NoteOperation.Type.UPDATE, ANY_ID, planned);
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(stored));
+        when(delegate.bulkWrite(any())).thenReturn(Flux.just(NoteOperationResult.updated(update, stored, planned)));
+        repository.findById(ANY_ID).block();
+
+        StepVerifier.create(repository.bulkWrite(Flux.just(update))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(stored).verifyComplete();
+
+        verify(delegate, times(2)).findById(ANY_ID);
+    }
+
+    @Test
+    void should_only_read_missing_notes_from_the_delegate() {
+        Note cached = createNote();
+        Note missing = cached.toBuilder().id("other").build();
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(cached));
+        when(delegate.findAllById(argThat(ids -> Set.copyOf(ids).equals(Set.of("other", "unknown"))))).thenReturn(Flux.just(missing));
+        repository.findById(ANY_ID).block();
+
+        StepVerifier.create(repository.findAllById(List.of(ANY_ID, "other", "unknown")))
+                .expectNext(cached, missing)
+                .verifyComplete();
+        StepVerifier.create(repository.findAllById(List.of(ANY_ID, "other")))
+                .expectNext(cached, missing)
+                .verifyComplete();
+
+        verify(delegate, times(1)).findAllById(any());
+    }
+
+    @Test
+    void should_read_missing_notes_with_the_projection_without_caching_them() {
+        Note cached = createNote();
+        Note projected = Note.builder().id("other").title(ANY_TITLE).version(1L).build();
+        NoteProjection projection = NoteProjection.of(List.of("title"), NoteProjection.DEFAULT_PREVIEW_LENGTH);
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(cached));
+        when(delegate.findAllById(List.of("other"), projection)).thenReturn(Flux.just(projected), Flux.just(projected));
+        repository.findById(ANY_ID).block();
+
+        StepVerifier.create(repository.findAllById(List.of(ANY_ID, "other"), projection))
+                .expectNext(cached, projected)
+                .verifyComplete();
+        StepVerifier.create(repository.findAllById(List.of(ANY_ID, "other"), projection))
+                .expectNext(cached, projected)
+                .verifyComplete();
+
+        verify(delegate, times(2)).findAllById(List.of("other"), projection);
+        verify(delegate, never()).findAllById(any());
+    }
+
+    @Test
+    void should_not_cache_a_load_that_a_delete_overtook() {
+        Note note = createNote();
+        Sinks.One<Note> load = Sinks.one();
+        when(delegate.findById(ANY_ID)).thenReturn(load.asMono(), Mono.empty());
+        when(delegate.deleteById(ANY_ID)).thenReturn(Mono.empty());
+        when(delegate.findMetadataById(ANY_ID)).thenReturn(Mono.empty());
+
+        CompletableFuture<Note> pending = repository.findById(ANY_ID).toFuture();
+        repository.deleteById(ANY_ID).block();
+        load.tryEmitValue(note);
+
+        assertThat(pending).isCompletedWithValue(note);
+        StepVerifier.create(repository.findById(ANY_ID)).verifyComplete();
+        StepVerifier.create(repository.findMetadataById(ANY_ID)).verifyComplete();
+    }
+
+    private Note createNote() {
+        return Note.builder()
+                .id(ANY_ID)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(List.of(ANY_TAG))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package notesapi.unit;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.infraestructure.config.SearchCacheProperties;
+import notesapi.infraestructure.repository.CachingNoteSearchIndex;
+import notesapi.infraestructure.repository.SearchCacheEvictingNoteRepository;
+import notesapi.infraestructure.repository.SearchResultCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingNoteSearchIndexTest {
+
+    @Mock
+    private NoteSearchIndex delegate;
+    @Mock
+    private NoteRepository noteRepository;
+
+    private CachingNoteSearchIndex searchIndex;
+    private SearchCacheEvictingNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        SearchResultCache cache = new SearchResultCache(new SearchCacheProperties(true, 100, Duration.ofMinutes(1)));
+        searchIndex = new CachingNoteSearchIndex(delegate, noteRepository, cache);
+        repository = new SearchCacheEvictingNoteRepository(noteRepository, cache);
+    }
+
+    @Test
+    void should_cache_result_ids_and_read_the_notes_in_result_order() {
+        Note first = note("1", "alpha one");
+        Note second = note("2", "alpha two");
+        when(delegate.search(eq("alpha"), any(), eq(0), eq(10))).thenReturn(Flux.just(second, first));
+        when(noteRepository.findAllById(List.of("2", "1"), NoteProjection.full())).thenReturn(Flux.just(first, second));
+
+        StepVerifier.create(searchIndex.search("alpha", NoteProjection.full(), 0, 10)).expectNext(second, first).verifyComplete();
+        StepVerifier.create(searchIndex.search(" Alpha ", NoteProjection.full(), 0, 10)).expectNext(second, first).verifyComplete();
+
+        verify(delegate, times(1)).search(eq("alpha"), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void should_read_the_cached_results_with_the_requested_projection() {
+        Note note = note("1", "delta");
+        NoteProjection titles = NoteProjection.of(List.of("title"), NoteProjection.DEFAULT_PREVIEW_LENGTH);
+        when(delegate.search(eq("delta"), any(), eq(0), eq(10))).thenReturn(Flux.just(note));
+        when(noteRepository.findAllById(List.of("1"), titles)).thenReturn(Flux.just(note));
+
+        StepVerifier.create(searchIndex.search("delta", titles, 0, 10)).expectNext(note).verifyComplete();
+
+        verify(noteRepository, times(1)).findAllById(List.of("1"), titles);
+    }
+
+    @Test
+    void should_only_evict_the_keywords_a_changed_note_matches() {
+        when(delegate.count("alpha")).thenReturn(Mono.just(1L), Mono.just(2L));
+        when(delegate.count("beta")).thenReturn(Mono.just(5L));
+        StepVerifier.create(searchIndex.count("alpha")).expectNext(1L).verifyComplete();
+        StepVerifier.create(searchIndex.count("beta")).expectNext(5L).verifyComplete();
+
+        save(note("3", "alphabet soup"));
+
+        StepVerifier.create(searchIndex.count("alpha")).expectNext(2L).verifyComplete();
+        StepVerifier.create(searchIndex.count("beta")).expectNext(5L).verifyComplete();
+        verify(delegate, times(1)).count("beta");
+    }
+
+    @Test
+    void should_evict_keywords_shorter_than_the_matched_prefix() {
+        when(delegate.count("pr")).thenReturn(Mono.just(1L), Mono.just(2L));
+        when(delegate.count("prototype")).thenReturn(Mono.just(1L), Mono.just(2L));
+        when(delegate.count("zz")).thenReturn(Mono.just(5L));
+        StepVerifier.create(searchIndex.count("pr")).expectNext(1L).verifyComplete();
+        StepVerifier.create(searchIndex.count("prototype")).expectNext(1L).verifyComplete();
+        StepVerifier.create(searchIndex.count("zz")).expectNext(5L).verifyComplete();
+
+        save(note("3", "pro"));
+
+        StepVerifier.create(searchIndex.count("pr")).expectNext(2L).verifyComplete();
+        StepVerifier.create(searchIndex.count("prototype")).expectNext(2L).verifyComplete();
+        StepVerifier.create(searchIndex.count("zz")).expectNext(5L).verifyComplete();
+    }
+
+    @Test
+    void should_evict_the_keywords_of_a_note_deleted_by_id() {
+        when(delegate.count("epsilon")).thenReturn(Mono.just(1L), Mono.just(0L));
+        when(delegate.count("beta")).thenReturn(Mono.just(5L));
+        when(noteRepository.findAndDeleteById("4", null)).thenReturn(Mono.just(note("4", "epsilon")));
+        StepVerifier.create(searchIndex.count("epsilon")).expectNext(1L).verifyComplete();
+        StepVerifier.create(searchIndex.count("beta")).expectNext(5L).verifyComplete();
+
+        StepVerifier.create(repository.deleteById("4")).verifyComplete();
+
+        StepVerifier.create(searchIndex.count("epsilon")).expectNext(0L).verifyComplete();
+        StepVerifier.create(searchIndex.count("beta")).expectNext(5L).verifyComplete();
+        verify(delegate, times(1)).count("beta");
+        verify(noteRepository, never()).findById(any());
+    }
+
+    @Test
+    void should_evict_pages_holding_a_note_that_stopped_matching() {
+        Note note = note("1", "gamma");
+        Note renamed = note("1", "omega");
+        when(delegate.search(eq("gamma"), any(), eq(0), eq(10))).thenReturn(Flux.just(note), Flux.empty());
+        when(noteRepository.findAllById(List.of("1"), NoteProjection.full())).thenReturn(Flux.just(note));
+        when(noteRepository.findAndUpdate("1", null, renamed)).thenReturn(Mono.just(note("1", "unrelated")));
+        StepVerifier.create(searchIndex.search("gamma", NoteProjection.full(), 0, 10)).expectNext(note).verifyComplete();
+
+        StepVerifier.create(repository.findAndUpdate("1", null, renamed)).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(searchIndex.search("gamma", NoteProjection.full(), 0, 10)).verifyComplete();
+    }
+
+    @Test
+    void should_evict_results_still_loading_when_a_note_changes() {
+        Sinks.One<Long> load = Sinks.one();
+        when(delegate.count("beta")).thenReturn(load.asMono(), Mono.just(6L));
+        CompletableFuture<Long> pending = searchIndex.count("beta").toFuture();
+
+        save(note("3", "alpha"));
+        load.tryEmitValue(5L);
+
+        assertThat(pending).isCompletedWithValue(5L);
+        StepVerifier.create(searchIndex.count("beta")).expectNext(6L).verifyComplete();
+    }
+
+    @Test
+    void should_leave_the_cache_alone_when_the_index_changes() {
+        when(delegate.count("alpha")).thenReturn(Mono.just(1L));
+        when(delegate.index(any())).thenReturn(Mono.empty());
+        StepVerifier.create(searchIndex.count("alpha")).expectNext(1L).verifyComplete();
+
+        searchIndex.index(note("3", "alpha")).block();
+
+        StepVerifier.create(searchIndex.count("alpha")).expectNext(1L).verifyComplete();
+        verify(delegate, times(1)).count("alpha");
+    }
+
+    private void save(Note note) {
+        when(noteRepository.save(note)).thenReturn(Mono.just(note));
+        StepVerifier.create(repository.save(note)).expectNext(note).verifyComplete();
+    }
+
+    private static Note note(String id, String content) {
+        return Note.builder().id(id).title("title " + id).content(content).tags(List.of("tag")).build();
+    }
+}
@@ -0,0 +1,108 @@
+package notesapi.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import notesapi.domain.model.Note;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.repository.CoalescingNoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static notesapi.common.TestData.ANY_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CoalescingNoteRepositoryTest {
+
+    @Mock
+    private NoteRepository delegate;
+
+    private SimpleMeterRegistry registry;
+    private CoalescingNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new CoalescingNoteRepository(delegate, registry);
+    }
+
+    @Test
+    void should_share_one_read_among_concurrent_identical_requests() {
+        Note note = Note.builder().id(ANY_ID).build();
+        Sinks.One<Note> result = Sinks.one();
+        AtomicInteger reads = new AtomicInteger();
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.defer(() -> {
+            reads.incrementAndGet();
+            return result.asMono();
+        }));
+
+        CompletableFuture<Note> first = repository.findById(ANY_ID).toFuture();
+        CompletableFuture<Note> second = repository.findById(ANY_ID).toFuture();
+        result.tryEmitValue(note);
+
+        assertThat(first).isCompletedWithValue(note);
+        assertThat(second).isCompletedWithValue(note);
+        assertThat(reads).hasValue(1);
+        assertThat(requests("leader")).isEqualTo(1);
+        assertThat(requests("follower")).isEqualTo(1);
+    }
+
+    @Test
+    void should_read_again_once_the_shared_read_completed() {
+        Note note = Note.builder().id(ANY_ID).build();
+        AtomicInteger reads = new AtomicInteger();
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.fromSupplier(() -> {
+            reads.incrementAndGet();
+            return note;
+        }));
+
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(note).verifyComplete();
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(note).verifyComplete();
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void should_not_join_a_read_started_before_a_write() {
+        Note stale = Note.builder().id(ANY_ID).version(0L).build();
+        Note updated = stale.toBuilder().version(1L).build();
+        Sinks.One<Note> pending = Sinks.one();
+        when(delegate.findById(ANY_ID)).thenReturn(pending.asMono(), Mono.just(updated));
+        when(delegate.save(updated)).thenReturn(Mono.just(updated));
+
+        CompletableFuture<Note> beforeWrite = repository.findById(ANY_ID).toFuture();
+        repository.save(updated).block();
+
+        StepVerifier.create(repository.findById(ANY_ID)).expectNext(updated).verifyComplete();
+        pending.tryEmitValue(stale);
+        assertThat(beforeWrite).isCompletedWithValue(stale);
+    }
+
+    @Test
+    void should_leave_find_by_id_to_the_note_cache_when_it_is_enabled() {
+        Note note = Note.builder().id(ANY_ID).build();
+        CoalescingNoteRepository behindCache = new CoalescingNoteRepository(delegate, false, registry);
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(note));
+
+        StepVerifier.create(behindCache.findById(ANY_ID)).expectNext(note).verifyComplete();
+
+        assertThat(registry.find("notes.repository.coalesced").counters()).isEmpty();
+    }
+
+    private double requests(String role) {
+        return registry.get("notes.repository.coalesced")
+                .tag("operation", "findById")
+                .tag("role", role)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,122 @@
+package notesapi.unit;
+
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.exception.InvalidResumeTokenException;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteChange;
+import notesapi.infraestructure.config.ChangeFeedProperties;
+import notesapi.infraestructure.repository.InMemoryNoteChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryNoteChangeFeedTest {
+
+    private InMemoryNoteChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new InMemoryNoteChangeFeed(new ChangeFeedProperties("in-memory", 10));
+    }
+
+    @Test
+    void should_only_emit_changes_after_subscribing_when_no_token_is_given() {
+        changeFeed.onNoteChanged(NoteChangedEvent.created(createNote("1", List.of("work"))));
+
+        StepVerifier.create(changeFeed.changes(null, List.of()).map(NoteChange::id))
+                .then(() -> changeFeed.onNoteChanged(NoteChangedEvent.created(createNote("2", List.of("work")))))
+                .expectNext("2")
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void should_replay_changes_after_the_resume_token() {
+        Note note = createNote("1", List.of("work"));
+        String start = startToken();
+        changeFeed.onNoteChanged(NoteChangedEvent.created(note));
+        changeFeed.onNoteChanged(NoteChangedEvent.updated(note, note));
+        changeFeed.onNoteChanged(NoteChangedEvent.deleted(note));
+        String firstToken = changeFeed.changes(start, List.of()).blockFirst().token();
+
+        StepVerifier.create(changeFeed.changes(firstToken, List.of()).map(NoteChange::type))
+                .expectNext(NoteChangedEvent.Type.UPDATED, NoteChangedEvent.Type.DELETED)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void should_filter_changes_by_tag_including_notes_leaving_the_tag() {
+        Note work = createNote("1", List.of("work"));
+        Note home = createNote("1", List.of("home"));
+        String start = startToken();
+        changeFeed.onNoteChanged(NoteChangedEvent.created(createNote("2", List.of("home"))));
+        changeFeed.onNoteChanged(NoteChangedEvent.created(work));
+        changeFeed.onNoteChanged(NoteChangedEvent.updated(work, home));
+
+        StepVerifier.create(changeFeed.changes(start, List.of("work")))
+                .assertNext(change -> assertThat(change.type()).isEqualTo(NoteChangedEvent.Type.CREATED))
+                .assertNext(change -> assertThat(change.note()).isEqualTo(home))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void should_send_a_reset_when_changes_after_the_token_left_the_replay_window() {
+        String start = startToken();
+        for (int id = 1; id <= 12; id++) {
+            changeFeed.onNoteChanged(NoteChangedEvent.created(createNote(Integer.toString(id), List.of("work"))));
+        }
+
+        StepVerifier.create(changeFeed.changes(start, List.of()))
+                .assertNext(change -> {
+                    assertThat(change.isReset()).isTrue();
+                    assertThat(change.token()).endsWith(".2");
+                })
+                .assertNext(change -> assertThat(change.id()).isEqualTo("3"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void should_send_a_reset_and_follow_new_changes_for_a_token_of_another_instance() {
+        changeFeed.onNoteChanged(NoteChangedEvent.created(createNote("1", List.of("work"))));
+
+        StepVerifier.create(changeFeed.changes("other.5", List.of()))
+                .assertNext(change -> assertThat(change.isReset()).isTrue())
+                .then(() -> changeFeed.onNoteChanged(NoteChangedEvent.created(createNote("2", List.of("work")))))
+                .assertNext(change -> assertThat(change.id()).isEqualTo("2"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void should_reject_malformed_tokens() {
+        StepVerifier.create(changeFeed.changes("not-a-token", List.of()))
+                .expectError(InvalidResumeTokenException.class)
+                .verify();
+    }
+
+    // A token of another instance is answered with a reset carrying the current position of this one
+    private String startToken() {
+        return changeFeed.changes("other.0", List.of()).blockFirst().token();
+    }
+
+    private Note createNote(String id, List<String> tags) {
+        return Note.builder()
+                .id(id)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(tags)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package notesapi.unit;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteProjection;
+import notesapi.infraestructure.config.RepositoryProperties;
+import notesapi.infraestructure.repository.InMemoryNoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryNoteRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private InMemoryNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryNoteRepository(properties(null));
+    }
+
+    @Test
+    void should_assign_an_id_and_initial_version_on_insert() {
+        Note saved = repository.save(createNote(null, 0, List.of())).block();
+
+        assertThat(saved.getId()).isNotBlank();
+        assertThat(saved.getVersion()).isZero();
+        StepVerifier.create(repository.count()).expectNext(1L).verifyComplete();
+    }
+
+    @Test
+    void should_reject_stale_and_duplicate_saves() {
+        Note saved = repository.save(createNote("1", 0, List.of())).block();
+        repository.save(saved).block();
+
+        StepVerifier.create(repository.save(saved)).expectError(OptimisticLockingFailureException.class).verify();
+        StepVerifier.create(repository.save(createNote("1", 0, List.of()))).expectError(DuplicateKeyException.class).verify();
+    }
+
+    @Test
+    void should_update_only_when_the_expected_version_matches() {
+        repository.save(createNote("1", 0, List.of())).block();
+        Note changes = Note.builder().title("Changed").content(ANY_CONTENT).tags(List.of()).updatedAt(NOW).build();
+
+        StepVerifier.create(repository.findAndUpdate("1", 3L, changes)).verifyComplete();
+        StepVerifier.create(repository.findAndUpdate("1", 0L, changes).map(Note::getTitle)).expectNext(ANY_TITLE).verifyComplete();
+        StepVerifier.create(repository.findById("1"))
+                .assertNext(note -> {
+                    assertThat(note.getTitle()).isEqualTo("Changed");
+                    assertThat(note.getVersion()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void should_page_newest_first_with_cursors() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(createNote(String.valueOf(i), i, List.of())).block();
+        }
+        Note third = repository.findById("2").block();
+
+        StepVerifier.create(repository.findAll(null, 2).map(Note::getId)).expectNext("4", "3").verifyComplete();
+        StepVerifier.create(repository.findAll(NoteCursor.next(third), 2).map(Note::getId)).expectNext("1", "0").verifyComplete();
+        StepVerifier.create(repository.findAll(NoteCursor.previous(third), 2).map(Note::getId)).expectNext("3", "4").verifyComplete();
+        StepVerifier.create(repository.findAll(1, 2).map(Note::getId)).expectNext("2", "1").verifyComplete();
+    }
+
+    @Test
+    void should_filter_by_tags_and_keep_the_tag_index_in_sync() {
+        repository.save(createNote("1", 0, List.of("work"))).block();
+        repository.save(createNote("2", 1, List.of("home"))).block();
+        repository.save(createNote("3", 2, List.of("work", "home"))).block();
+        repository.findAndDeleteById("3", null).block();
+
+        StepVerifier.create(repository.findAll(new NoteFilter(List.of("work"), null)).map(Note::getId))
+                .expectNext("1")
+                .verifyComplete();
+    }
+
+    @Test
+    void should_page_notes_matching_all_or_any_of_the_tags() {
+        repository.save(createNote("1", 0, List.of("work", "urgent"))).block();
+        repository.save(createNote("2", 1, List.of("work"))).block();
+        repository.save(createNote("3", 2, List.of("urgent", "work"))).block();
+        repository.save(createNote("4", 3, List.of("home"))).block();
+        NoteFilter all = NoteFilter.tagged(List.of("work", "urgent"), NoteFilter.TagMatch.ALL);
+        NoteFilter any = NoteFilter.tagged(List.of("urgent", "home"), NoteFilter.TagMatch.ANY);
+        Note newest = repository.findById("3").block();
+
+        StepVerifier.create(repository.findAll(all, NoteProjection.full(), 0, 10).map(Note::getId)).expectNext("3", "1").verifyComplete();
+        StepVerifier.create(repository.findAll(all, NoteProjection.full(), NoteCursor.next(newest), 10).map(Note::getId)).expectNext("1").verifyComplete();
+        StepVerifier.create(repository.findAll(any, NoteProjection.full(), null, 2).map(Note::getId)).expectNext("4", "3").verifyComplete();
+        StepVerifier.create(repository.count(any)).expectNext(3L).verifyComplete();
+    }
+
+    @Test
+    void should_recover_notes_from_the_snapshot_and_journal(@TempDir Path directory) throws Exception {
+        InMemoryNoteRepository first = new InMemoryNoteRepository(properties(directory));
+        first.open();
+        first.save(createNote("1", 0, List.of("work"))).block();
+        first.snapshot();
+        first.save(createNote("2", 1, List.of())).block();
+        first.findAndUpdate("1", null, Note.builder().title("Changed").content(ANY_CONTENT).tags(List.of()).build()).block();
+        first.findAndDeleteById("2", null).block();
+
+        InMemoryNoteRepository second = new InMemoryNoteRepository(properties(directory));
+        second.open();
+
+        StepVerifier.create(second.findAll().map(Note::getTitle)).expectNext("Changed").verifyComplete();
+        StepVerifier.create(second.count()).expectNext(1L).verifyComplete();
+        first.close();
+        second.close();
+    }
+
+    private static RepositoryProperties properties(Path directory) {
+        return new RepositoryProperties("in-memory", "reactive", directory, Duration.ofMinutes(5));
+    }
+
+    private static Note createNote(String id, int minutes, List<String> tags) {
+        return Note.builder()
+                .id(id)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(tags)
+                .createdAt(NOW.plusMinutes(minutes))
+                .updatedAt(NOW.plusMinutes(minutes))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package notesapi.unit;
+
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.config.RepositoryProperties;
+import notesapi.infraestructure.repository.InMemoryNoteRepository;
+import notesapi.infraestructure.repository.InMemoryNoteSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryNoteSearchIndexTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    private InMemoryNoteSearchIndex searchIndex;
+
+    private final Note groceries = createNote("1", "Groceries list", List.of("shopping"), 1);
+    private final Note meeting = createNote("2", "Meeting notes", List.of("work"), 2);
+    private final Note shoppingMeeting = createNote("3", "Shopping meeting", List.of("Work"), 3);
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new InMemoryNoteSearchIndex(noteRepository);
+        searchIndex.index(groceries).block();
+        searchIndex.index(meeting).block();
+        searchIndex.index(shoppingMeeting).block();
+    }
+
+    @Test
+    void should_match_keyword_prefixes_ignoring_case_newest_first() {
+        StepVerifier.create(searchIndex.search("SHOP", NoteProjection.full(), 0, 10))
+                .expectNext(shoppingMeeting, groceries)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_require_every_keyword_term_to_match() {
+        StepVerifier.create(searchIndex.count("meet work"))
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(searchIndex.search("shopping meeting", NoteProjection.full(), 0, 10))
+                .expectNext(shoppingMeeting)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_forget_removed_and_replaced_notes() {
+        searchIndex.remove(groceries.getId()).block();
+        searchIndex.index(createNote("3", "Weekly review", List.of("work"), 3)).block();
+
+        StepVerifier.create(searchIndex.count("shopping"))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_page_with_cursor() {
+        StepVerifier.create(searchIndex.search("work", NoteProjection.full(), NoteCursor.next(shoppingMeeting), 10))
+                .expectNext(meeting)
+                .verifyComplete();
+        StepVerifier.create(searchIndex.search("work", NoteProjection.full(), NoteCursor.previous(meeting), 10))
+                .expectNext(shoppingMeeting)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_follow_writes_made_directly_to_the_in_memory_store() {
+        InMemoryNoteRepository store = new InMemoryNoteRepository(new RepositoryProperties("in-memory", "reactive", null, Duration.ofMinutes(5)));
+        store.addListener(searchIndex);
+
+        store.save(createNote("4", "Shopping trip", List.of("travel"), 4)).block();
+        StepVerifier.create(searchIndex.count("shopping")).expectNext(3L).verifyComplete();
+
+        store.deleteById("4").block();
+        StepVerifier.create(searchIndex.count("trip")).expectNext(0L).verifyComplete();
+
+        store.deleteAll().block();
+        StepVerifier.create(searchIndex.count("work")).expectNext(0L).verifyComplete();
+    }
+
+    private Note createNote(String id, String title, List<String> tags, int minutes) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(minutes);
+        return Note.builder()
+                .id(id)
+                .title(title)
+                .content(ANY_CONTENT)
+                .tags(tags)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
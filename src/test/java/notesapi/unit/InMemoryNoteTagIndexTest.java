@@ -0,0 +1,71 @@
+package notesapi.unit;
+
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.TagCount;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.repository.InMemoryNoteTagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryNoteTagIndexTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    private InMemoryNoteTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new InMemoryNoteTagIndex(noteRepository);
+    }
+
+    @Test
+    void should_build_counts_from_the_repository_most_used_first() {
+        when(noteRepository.findAll()).thenReturn(Flux.just(
+                createNote("1", List.of("work", "home")),
+                createNote("2", List.of("work")),
+                createNote("3", List.of("work", "work"))));
+
+        tagIndex.rebuild();
+
+        StepVerifier.create(tagIndex.tags())
+                .expectNext(new TagCount("work", 3), new TagCount("home", 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_keep_counts_in_sync_with_note_changes() {
+        Note work = createNote("1", List.of("work"));
+        Note home = createNote("1", List.of("home", "urgent"));
+        tagIndex.onNoteChanged(NoteChangedEvent.created(work));
+        tagIndex.onNoteChanged(NoteChangedEvent.created(createNote("2", List.of("urgent"))));
+        tagIndex.onNoteChanged(NoteChangedEvent.updated(work, home));
+        tagIndex.onNoteChanged(NoteChangedEvent.deleted(home));
+
+        StepVerifier.create(tagIndex.tags())
+                .expectNext(new TagCount("urgent", 1))
+                .verifyComplete();
+    }
+
+    private static Note createNote(String id, List<String> tags) {
+        return Note.builder()
+                .id(id)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(tags)
+                .build();
+    }
+}
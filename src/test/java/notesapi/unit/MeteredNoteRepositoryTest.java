@@ -0,0 +1,62 @@
+package notesapi.unit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import notesapi.domain.model.Note;
+import notesapi.domain.repository.NoteRepository;
+import notesapi.infraestructure.repository.MeteredNoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static notesapi.common.TestData.ANY_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MeteredNoteRepositoryTest {
+
+    @Mock
+    private NoteRepository delegate;
+
+    private SimpleMeterRegistry registry;
+    private MeteredNoteRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new MeteredNoteRepository(delegate, registry);
+    }
+
+    @Test
+    void should_time_operations_by_outcome() {
+        when(delegate.findById(ANY_ID)).thenReturn(Mono.just(Note.builder().id(ANY_ID).build()), Mono.error(new IllegalStateException()));
+
+        StepVerifier.create(repository.findById(ANY_ID)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findById(ANY_ID)).verifyError(IllegalStateException.class);
+
+        assertThat(timer("findById", "success").count()).isEqualTo(1);
+        assertThat(timer("findById", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_record_result_sizes_of_listings() {
+        when(delegate.findAll(0, 10)).thenReturn(Flux.just(Note.builder().id("1").build(), Note.builder().id("2").build()));
+
+        StepVerifier.create(repository.findAll(0, 10)).expectNextCount(2).verifyComplete();
+
+        DistributionSummary results = registry.get("notes.repository.results").tag("operation", "findPage").summary();
+        assertThat(results.count()).isEqualTo(1);
+        assertThat(results.totalAmount()).isEqualTo(2);
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.get("notes.repository").tag("operation", operation).tag("outcome", outcome).timer();
+    }
+}
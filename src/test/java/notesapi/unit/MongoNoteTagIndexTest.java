@@ -0,0 +1,103 @@
+package notesapi.unit;
+
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import notesapi.domain.event.NoteChangedEvent;
+import notesapi.domain.model.Note;
+import notesapi.infraestructure.repository.MongoNoteTagIndex;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_ID;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoNoteTagIndexTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+    @Mock
+    private ReactiveBulkOperations bulkOps;
+    @Mock
+    private MongoCollection<Document> notes;
+    @Mock
+    private AggregatePublisher<Document> aggregate;
+
+    private MongoNoteTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new MongoNoteTagIndex(mongoTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tagIndex.close();
+    }
+
+    @Test
+    void should_rebuild_the_counts_on_every_start() {
+        givenRebuildSucceeds();
+
+        tagIndex.provision();
+
+        verify(aggregate, times(1)).toCollection();
+    }
+
+    @Test
+    void should_rebuild_the_counts_when_a_delta_is_lost() {
+        givenRebuildSucceeds();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "note_tags")).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenReturn(Mono.error(new IllegalStateException("connection lost")));
+
+        tagIndex.onNoteChanged(NoteChangedEvent.created(createNote(List.of("work"))));
+
+        verify(aggregate, timeout(1_000).times(1)).toCollection();
+    }
+
+    @Test
+    void should_not_rebuild_when_deltas_are_applied() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "note_tags")).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenReturn(Mono.empty());
+
+        tagIndex.onNoteChanged(NoteChangedEvent.created(createNote(List.of("work"))));
+
+        verify(bulkOps, times(1)).upsert(any(), any());
+        verify(mongoTemplate, never()).getCollection(any());
+    }
+
+    private void givenRebuildSucceeds() {
+        when(mongoTemplate.getCollectionName(Note.class)).thenReturn("notes");
+        when(mongoTemplate.getCollection("notes")).thenReturn(Mono.just(notes));
+        when(notes.aggregate(anyList())).thenReturn(aggregate);
+        when(aggregate.toCollection()).thenReturn(Mono.empty());
+    }
+
+    private static Note createNote(List<String> tags) {
+        return Note.builder()
+                .id(ANY_ID)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(tags)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package notesapi.unit;
+
+import notesapi.domain.model.Note;
+import notesapi.infraestructure.repository.NoteIndexProvisioner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NoteIndexProvisionerTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+    @Mock
+    private ReactiveIndexOperations indexOps;
+
+    private NoteIndexProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.indexOps(Note.class)).thenReturn(indexOps);
+        provisioner = new NoteIndexProvisioner(mongoTemplate, "in-memory");
+    }
+
+    @Test
+    void should_create_missing_indexes_and_report_drift() {
+        when(indexOps.getIndexInfo()).thenReturn(Flux.just(
+                index("_id_", IndexField.create("_id", Sort.Direction.ASC)),
+                index("notes_tags_createdAt_id", IndexField.create("tags", Sort.Direction.ASC)),
+                index("legacy_title", IndexField.create("title", Sort.Direction.ASC))));
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> Mono.just(nameOf(invocation.getArgument(0))));
+
+        StepVerifier.create(provisioner.reconcile())
+                .assertNext(report -> {
+                    assertThat(report.checked()).isTrue();
+                    assertThat(report.created()).containsExactly("notes_createdAt_id");
+                    assertThat(report.mismatched()).containsExactly("notes_tags_createdAt_id");
+                    assertThat(report.unexpected()).containsExactly("legacy_title");
+                    assertThat(report.hasDrift()).isTrue();
+                })
+                .verifyComplete();
+        verify(indexOps, times(1)).ensureIndex(argThat(index -> "notes_createdAt_id".equals(nameOf(index))));
+    }
+
+    @Test
+    void should_leave_matching_indexes_alone_and_expose_the_report() {
+        when(indexOps.getIndexInfo()).thenReturn(Flux.just(
+                index("notes_createdAt_id",
+                        IndexField.create("createdAt", Sort.Direction.DESC),
+                        IndexField.create("_id", Sort.Direction.DESC)),
+                index("notes_tags_createdAt_id",
+                        IndexField.create("tags", Sort.Direction.ASC),
+                        IndexField.create("createdAt", Sort.Direction.DESC),
+                        IndexField.create("_id", Sort.Direction.DESC))));
+
+        provisioner.provision();
+
+        Info.Builder info = new Info.Builder();
+        provisioner.contribute(info);
+        assertThat(info.build().get("noteIndexes")).isEqualTo(
+                new NoteIndexProvisioner.IndexReport(true, List.of(), List.of(), List.of()));
+        verify(indexOps, times(0)).ensureIndex(any());
+    }
+
+    private static IndexInfo index(String name, IndexField... fields) {
+        return new IndexInfo(List.of(fields), name, false, false, null);
+    }
+
+    private static String nameOf(IndexDefinition index) {
+        return index.getIndexOptions().getString("name");
+    }
+}
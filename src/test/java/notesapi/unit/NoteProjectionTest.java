@@ -0,0 +1,46 @@
+package notesapi.unit;
+
+import notesapi.domain.exception.InvalidFieldsException;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.model.NoteProjection.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NoteProjectionTest {
+
+    @Test
+    void should_return_the_full_note_when_no_fields_are_requested() {
+        assertThat(NoteProjection.of(null, 10).isFull()).isTrue();
+        assertThat(NoteProjection.of(List.of(), 10).isFull()).isTrue();
+    }
+
+    @Test
+    void should_always_include_id_and_version() {
+        NoteProjection projection = NoteProjection.of(List.of("title", " updatedAt"), 10);
+
+        assertThat(projection.fields()).containsExactlyInAnyOrder(Field.ID, Field.TITLE, Field.UPDATED_AT, Field.VERSION);
+        assertThat(projection.isFull()).isFalse();
+    }
+
+    @Test
+    void should_reject_unknown_fields_and_non_positive_preview_lengths() {
+        assertThatThrownBy(() -> NoteProjection.of(List.of("title", "body"), 10))
+                .isInstanceOf(InvalidFieldsException.class)
+                .hasMessageContaining("body");
+        assertThatThrownBy(() -> NoteProjection.of(List.of("contentPreview"), 0))
+                .isInstanceOf(InvalidFieldsException.class);
+    }
+
+    @Test
+    void should_truncate_the_preview_by_code_points() {
+        NoteProjection projection = NoteProjection.of(List.of("contentPreview"), 3);
+
+        assertThat(projection.preview("a😀bcd")).isEqualTo("a😀b");
+        assertThat(projection.preview("ab")).isEqualTo("ab");
+        assertThat(projection.preview(null)).isNull();
+    }
+}
@@ -1,8 +1,20 @@
 package notesapi.unit;
 
+import notesapi.domain.event.NoteChangedEvent;
 import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteCursor;
+import notesapi.domain.model.NoteFilter;
+import notesapi.domain.model.NoteOperation;
+import notesapi.domain.model.NoteOperationResult;
+import notesapi.domain.model.NoteProjection;
+import notesapi.domain.model.NoteSlice;
+import notesapi.domain.model.TagCount;
 import notesapi.domain.exception.NoteNotFoundException;
+import notesapi.domain.exception.NoteVersionMismatchException;
+import notesapi.domain.repository.NoteCounter;
 import notesapi.domain.repository.NoteRepository;
+import notesapi.domain.repository.NoteSearchIndex;
+import notesapi.domain.repository.NoteTagIndex;
 import notesapi.domain.service.NoteService;
 import notesapi.common.DateTimeProvider;
 import org.junit.jupiter.api.Nested;
@@ -13,6 +25,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -32,6 +45,8 @@ import static notesapi.common.TestData.ANY_TAG;
 import static notesapi.common.TestData.ANY_TITLE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +57,14 @@ public class NoteServiceTest {
     @Mock
     private NoteRepository noteRepository;
     @Mock
+    private NoteSearchIndex noteSearchIndex;
+    @Mock
+    private NoteCounter noteCounter;
+    @Mock
+    private NoteTagIndex noteTagIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private DateTimeProvider dateTimeProvider;
     @InjectMocks
     private NoteService noteService;
@@ -82,6 +105,17 @@ public class NoteServiceTest {
                     .expectError(NoteNotFoundException.class)
                     .verify();
         }
+
+        @Test
+        public void should_throw_not_found_exception_when_metadata_does_not_exist() {
+            when(noteRepository.findMetadataById(ANY_ID)).thenReturn(Mono.empty());
+
+            Mono<Note> resultMono = noteService.findMetadataById(ANY_ID);
+
+            StepVerifier.create(resultMono)
+                    .expectError(NoteNotFoundException.class)
+                    .verify();
+        }
     }
 
     @Nested
@@ -109,6 +143,152 @@ public class NoteServiceTest {
                     .expectComplete()
                     .verify();
         }
+
+        @Test
+        void should_fail_when_page_is_negative() {
+            Flux<Note> notesFlux = noteService.findAll(-1, ANY_SIZE);
+
+            StepVerifier.create(notesFlux)
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+    }
+
+    @Nested
+    class FindAllByCursor {
+
+        @Test
+        void should_return_first_slice_with_next_cursor_when_there_are_more_notes() {
+            Note newest = createNote("3", 3);
+            Note middle = createNote("2", 2);
+            Note oldest = createNote("1", 1);
+            when(noteRepository.findAll(null, 3)).thenReturn(Flux.just(newest, middle, oldest));
+
+            Mono<NoteSlice> sliceMono = noteService.findAll(null, 2);
+
+            StepVerifier.create(sliceMono)
+                    .assertNext(slice -> {
+                        assertThat(slice.notes()).containsExactly(newest, middle);
+                        assertThat(slice.next()).isEqualTo(NoteCursor.next(middle));
+                        assertThat(slice.previous()).isNull();
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_return_last_slice_without_next_cursor() {
+            Note oldest = createNote("1", 1);
+            NoteCursor cursor = NoteCursor.next(createNote("2", 2));
+            when(noteRepository.findAll(cursor, 3)).thenReturn(Flux.just(oldest));
+
+            Mono<NoteSlice> sliceMono = noteService.findAll(cursor, 2);
+
+            StepVerifier.create(sliceMono)
+                    .assertNext(slice -> {
+                        assertThat(slice.notes()).containsExactly(oldest);
+                        assertThat(slice.next()).isNull();
+                        assertThat(slice.previous()).isEqualTo(NoteCursor.previous(oldest));
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_return_previous_slice_in_newest_first_order() {
+            Note newest = createNote("4", 4);
+            Note newer = createNote("3", 3);
+            Note middle = createNote("2", 2);
+            NoteCursor cursor = NoteCursor.previous(createNote("1", 1));
+            when(noteRepository.findAll(cursor, 3)).thenReturn(Flux.just(middle, newer, newest));
+
+            Mono<NoteSlice> sliceMono = noteService.findAll(cursor, 2);
+
+            StepVerifier.create(sliceMono)
+                    .assertNext(slice -> {
+                        assertThat(slice.notes()).containsExactly(newer, middle);
+                        assertThat(slice.next()).isEqualTo(NoteCursor.next(middle));
+                        assertThat(slice.previous()).isEqualTo(NoteCursor.previous(newer));
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_fail_when_size_is_not_positive() {
+            Mono<NoteSlice> sliceMono = noteService.findAll(null, 0);
+
+            StepVerifier.create(sliceMono)
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+    }
+
+    @Nested
+    class FindByTags {
+
+        @Test
+        void should_list_and_count_notes_matching_the_tags() {
+            NoteFilter filter = NoteFilter.tagged(List.of(ANY_TAG, ANY_OTHER_TAG), NoteFilter.TagMatch.ALL);
+            when(noteRepository.findAll(filter, NoteProjection.full(), ANY_PAGE, ANY_SIZE)).thenReturn(Flux.just(createNote("1", 0)));
+            when(noteRepository.count(filter)).thenReturn(Mono.just(1L));
+
+            StepVerifier.create(noteService.findAll(filter, ANY_PAGE, ANY_SIZE).map(Note::getId))
+                    .expectNext("1")
+                    .verifyComplete();
+            StepVerifier.create(noteService.count(filter))
+                    .expectNext(1L)
+                    .verifyComplete();
+            verify(noteCounter, never()).count();
+        }
+
+        @Test
+        void should_use_the_unfiltered_listing_without_tags() {
+            when(noteRepository.findAll(ANY_PAGE, ANY_SIZE)).thenReturn(Flux.just(createNote("1", 0)));
+            when(noteCounter.count()).thenReturn(Mono.just(1L));
+
+            StepVerifier.create(noteService.findAll(NoteFilter.tagged(null, null), ANY_PAGE, ANY_SIZE).map(Note::getId))
+                    .expectNext("1")
+                    .verifyComplete();
+            StepVerifier.create(noteService.count(NoteFilter.none()))
+                    .expectNext(1L)
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_return_tag_counts_from_the_tag_index() {
+            when(noteTagIndex.tags()).thenReturn(Flux.just(new TagCount(ANY_TAG, 2), new TagCount(ANY_OTHER_TAG, 1)));
+
+            StepVerifier.create(noteService.tags().map(TagCount::tag))
+                    .expectNext(ANY_TAG, ANY_OTHER_TAG)
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    class Export {
+
+        @Test
+        void should_stream_notes_matching_the_filter() {
+            NoteFilter filter = new NoteFilter(List.of(ANY_TAG), null);
+            when(noteRepository.findAll(filter)).thenReturn(Flux.just(createNote("1", 0), createNote("2", 1)));
+
+            StepVerifier.create(noteService.export(filter).map(Note::getId))
+                    .expectNext("1", "2")
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    class FindWithProjection {
+
+        @Test
+        void should_push_the_projection_down_to_the_repository() {
+            NoteProjection projection = NoteProjection.of(List.of("title", "contentPreview"), 20);
+            when(noteRepository.findAll(NoteFilter.none(), projection, ANY_PAGE, ANY_SIZE)).thenReturn(Flux.just(createNote("1", 0)));
+
+            StepVerifier.create(noteService.findAll(NoteFilter.none(), projection, ANY_PAGE, ANY_SIZE).map(Note::getId))
+                    .expectNext("1")
+                    .verifyComplete();
+            verify(noteRepository, never()).findAll(ANY_PAGE, ANY_SIZE);
+        }
     }
 
     @Nested
@@ -117,7 +297,7 @@ public class NoteServiceTest {
         @Test
         void should_return_notes_when_searching_by_keyword_paginated() {
             List<Note> notes = List.of(createNote());
-            when(noteRepository.search(ANY_KEYWORD, ANY_PAGE, ANY_SIZE)).thenReturn(Flux.fromIterable(notes));
+            when(noteSearchIndex.search(ANY_KEYWORD, NoteProjection.full(), ANY_PAGE, ANY_SIZE)).thenReturn(Flux.fromIterable(notes));
 
             Flux<Note> notesFlux = noteService.search(ANY_KEYWORD, ANY_PAGE, ANY_SIZE);
 
@@ -128,7 +308,7 @@ public class NoteServiceTest {
 
         @Test
         void should_return_empty_when_no_search_results_paginated() {
-            when(noteRepository.search(ANY_KEYWORD, ANY_PAGE, ANY_SIZE)).thenReturn(Flux.empty());
+            when(noteSearchIndex.search(ANY_KEYWORD, NoteProjection.full(), ANY_PAGE, ANY_SIZE)).thenReturn(Flux.empty());
 
             Flux<Note> notesFlux = noteService.search(ANY_KEYWORD, ANY_PAGE, ANY_SIZE);
 
@@ -157,6 +337,8 @@ public class NoteServiceTest {
             return Mono.just(argNote);
         });
 
+        when(noteSearchIndex.index(any())).thenReturn(Mono.empty());
+
         Mono<Note> resultMono = noteService.create(noteToCreate);
 
         StepVerifier.create(resultMono)
@@ -172,6 +354,8 @@ public class NoteServiceTest {
         Note savedNote = noteCaptor.getValue();
         assertThat(savedNote.getCreatedAt()).isEqualTo(time);
         assertThat(savedNote.getUpdatedAt()).isEqualTo(time);
+        verify(noteSearchIndex).index(savedNote);
+        verify(eventPublisher).publishEvent(NoteChangedEvent.created(savedNote));
     }
     }
 
@@ -181,13 +365,10 @@ public class NoteServiceTest {
         @Test
         void should_update_note() {
             Note originalNote = createNote();
-            when(noteRepository.findById(ANY_ID)).thenReturn(Mono.just(originalNote));
             LocalDateTime updatedTime = LocalDateTime.now();
             when(dateTimeProvider.now()).thenReturn(updatedTime);
-            when(noteRepository.save(noteCaptor.capture())).thenAnswer(invocation -> {
-                Note argNote = invocation.getArgument(0);
-                return Mono.just(argNote);
-            });
+            when(noteRepository.findAndUpdate(eq(ANY_ID), isNull(), noteCaptor.capture())).thenReturn(Mono.just(originalNote));
+            when(noteSearchIndex.index(any())).thenReturn(Mono.empty());
 
             Note noteToUpdate = Note.builder()
                     .title(ANY_OTHER_TITLE)
@@ -207,8 +388,12 @@ public class NoteServiceTest {
                     })
                     .verifyComplete();
 
-            Note savedNoteCaptured = noteCaptor.getValue();
-            assertThat(savedNoteCaptured.getUpdatedAt()).isEqualTo(updatedTime);
+            assertThat(noteCaptor.getValue().getUpdatedAt()).isEqualTo(updatedTime);
+            ArgumentCaptor<Note> indexedNote = ArgumentCaptor.forClass(Note.class);
+            verify(noteSearchIndex).index(indexedNote.capture());
+            assertThat(indexedNote.getValue().getTitle()).isEqualTo(ANY_OTHER_TITLE);
+            verify(eventPublisher).publishEvent(NoteChangedEvent.updated(originalNote, indexedNote.getValue()));
+            verify(noteRepository, never()).findById(any());
         }
 
         @Test
@@ -218,14 +403,39 @@ public class NoteServiceTest {
                     .content(ANY_CONTENT)
                     .tags(List.of(ANY_TAG))
                     .build();
-            when(noteRepository.findById(ANY_ID)).thenReturn(Mono.empty());
+            when(noteRepository.findAndUpdate(eq(ANY_ID), isNull(), any())).thenReturn(Mono.empty());
 
             Mono<Note> updatedNoteMono = noteService.update(noteToUpdate, ANY_ID);
 
             StepVerifier.create(updatedNoteMono)
                     .expectError(NoteNotFoundException.class)
                     .verify();
-            verify(noteRepository, never()).save(any());
+            verify(noteSearchIndex, never()).index(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        void should_bump_the_version_of_the_updated_note() {
+            Note originalNote = createNote().toBuilder().version(3L).build();
+            when(dateTimeProvider.now()).thenReturn(LocalDateTime.now());
+            when(noteRepository.findAndUpdate(eq(ANY_ID), eq(3L), any())).thenReturn(Mono.just(originalNote));
+            when(noteSearchIndex.index(any())).thenReturn(Mono.empty());
+
+            StepVerifier.create(noteService.update(createNote(), ANY_ID, 3L))
+                    .assertNext(updated -> assertThat(updated.getVersion()).isEqualTo(4L))
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_throw_version_mismatch_exception_when_version_is_stale() {
+            when(dateTimeProvider.now()).thenReturn(LocalDateTime.now());
+            when(noteRepository.findAndUpdate(eq(ANY_ID), eq(1L), any())).thenReturn(Mono.empty());
+            when(noteRepository.findMetadataById(ANY_ID)).thenReturn(Mono.just(createNote()));
+
+            StepVerifier.create(noteService.update(createNote(), ANY_ID, 1L))
+                    .expectError(NoteVersionMismatchException.class)
+                    .verify();
+            verify(eventPublisher, never()).publishEvent(any());
         }
     }
 
@@ -234,26 +444,143 @@ public class NoteServiceTest {
 
         @Test
         void should_delete_note_by_id() {
-            when(noteRepository.findById(ANY_ID)).thenReturn(Mono.just(createNote()));
-            when(noteRepository.deleteById(ANY_ID)).thenReturn(Mono.empty());
+            Note note = createNote();
+            when(noteRepository.findAndDeleteById(ANY_ID, null)).thenReturn(Mono.just(note));
+            when(noteSearchIndex.remove(ANY_ID)).thenReturn(Mono.empty());
 
             Mono<Void> deleteMono = noteService.deleteById(ANY_ID);
 
             StepVerifier.create(deleteMono)
                     .verifyComplete();
-            verify(noteRepository).deleteById(ANY_ID);
+            verify(noteRepository, never()).findById(any());
+            verify(noteSearchIndex).remove(ANY_ID);
+            verify(eventPublisher).publishEvent(NoteChangedEvent.deleted(note));
         }
 
         @Test
         void should_throw_not_found_exception_when_note_does_not_exist() {
-            when(noteRepository.findById(ANY_ID)).thenReturn(Mono.empty());
+            when(noteRepository.findAndDeleteById(ANY_ID, null)).thenReturn(Mono.empty());
 
             Mono<Void> deleteMono = noteService.deleteById(ANY_ID);
 
             StepVerifier.create(deleteMono)
                     .expectError(NoteNotFoundException.class)
                     .verify();
-            verify(noteRepository, never()).deleteById(any());
+            verify(noteSearchIndex, never()).remove(any());
+        }
+
+        @Test
+        void should_throw_not_found_exception_when_versioned_note_does_not_exist() {
+            when(noteRepository.findAndDeleteById(ANY_ID, 1L)).thenReturn(Mono.empty());
+            when(noteRepository.findMetadataById(ANY_ID)).thenReturn(Mono.empty());
+
+            StepVerifier.create(noteService.deleteById(ANY_ID, 1L))
+                    .expectError(NoteNotFoundException.class)
+                    .verify();
+        }
+
+        @Test
+        void should_throw_version_mismatch_exception_when_deleting_a_stale_version() {
+            when(noteRepository.findAndDeleteById(ANY_ID, 1L)).thenReturn(Mono.empty());
+            when(noteRepository.findMetadataById(ANY_ID)).thenReturn(Mono.just(createNote()));
+
+            StepVerifier.create(noteService.deleteById(ANY_ID, 1L))
+                    .expectError(NoteVersionMismatchException.class)
+                    .verify();
+            verify(noteSearchIndex, never()).remove(any());
+        }
+    }
+
+    @Nested
+    class Bulk {
+
+        @Captor
+        ArgumentCaptor<Flux<NoteOperation>> operationsCaptor;
+
+        @Test
+        void should_stamp_operations_before_writing_them() {
+            LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+            when(dateTimeProvider.now()).thenReturn(now);
+            when(noteRepository.bulkWrite(operationsCaptor.capture())).thenReturn(Flux.empty());
+            Note note = Note.builder().title(ANY_TITLE).content(ANY_CONTENT).tags(List.of(ANY_TAG)).build();
+
+            StepVerifier.create(noteService.bulk(Flux.just(
+                            new NoteOperation(0, NoteOperation.Type.CREATE, null, note),
+                            new NoteOperation(1, NoteOperation.Type.UPDATE, ANY_ID, note),
+                            new NoteOperation(2, NoteOperation.Type.DELETE, ANY_ID, null))))
+                    .verifyComplete();
+
+            StepVerifier.create(operationsCaptor.getValue())
+                    .assertNext(create -> {
+                        assertThat(create.note().getCreatedAt()).isEqualTo(now);
+                        assertThat(create.note().getUpdatedAt()).isEqualTo(now);
+                    })
+                    .assertNext(update -> {
+                        assertThat(update.note().getCreatedAt()).isNull();
+                        assertThat(update.note().getUpdatedAt()).isEqualTo(now);
+                    })
+                    .assertNext(delete -> assertThat(delete.note()).isNull())
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_index_and_publish_written_notes_only() {
+            Note previous = createNote(ANY_ID, 0);
+            Note updated = previous.toBuilder().title(ANY_OTHER_TITLE).build();
+            Note created = createNote("created-id", 1);
+            NoteOperation create = new NoteOperation(0, NoteOperation.Type.CREATE, null, created);
+            NoteOperation update = new NoteOperation(1, NoteOperation.Type.UPDATE, ANY_ID, updated);
+            NoteOperation delete = new NoteOperation(2, NoteOperation.Type.DELETE, "missing-id", null);
+            when(noteRepository.bulkWrite(any())).thenReturn(Flux.just(
+                    NoteOperationResult.created(create, created),
+                    NoteOperationResult.updated(update, previous, updated),
+                    NoteOperationResult.notFound(delete)));
+            when(noteSearchIndex.index(any())).thenReturn(Mono.empty());
+
+            StepVerifier.create(noteService.bulk(Flux.empty()).map(NoteOperationResult::status))
+                    .expectNext(NoteOperationResult.Status.CREATED, NoteOperationResult.Status.UPDATED,
+                            NoteOperationResult.Status.NOT_FOUND)
+                    .verifyComplete();
+            verify(noteSearchIndex).index(created);
+            verify(noteSearchIndex).index(updated);
+            verify(noteSearchIndex, never()).remove(any());
+            verify(eventPublisher).publishEvent(NoteChangedEvent.created(created));
+            verify(eventPublisher).publishEvent(NoteChangedEvent.updated(previous, updated));
+        }
+
+        @Test
+        void should_remove_deleted_notes_from_the_search_index() {
+            Note previous = createNote();
+            NoteOperation delete = new NoteOperation(0, NoteOperation.Type.DELETE, ANY_ID, null);
+            when(noteRepository.bulkWrite(any())).thenReturn(Flux.just(NoteOperationResult.deleted(delete, previous)));
+            when(noteSearchIndex.remove(ANY_ID)).thenReturn(Mono.empty());
+
+            StepVerifier.create(noteService.bulk(Flux.just(delete)))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            verify(eventPublisher).publishEvent(NoteChangedEvent.deleted(previous));
+        }
+    }
+
+    @Nested
+    class Count {
+
+        @Test
+        void should_count_notes_with_the_configured_counter() {
+            when(noteCounter.count()).thenReturn(Mono.just(3L));
+
+            StepVerifier.create(noteService.count())
+                    .expectNext(3L)
+                    .verifyComplete();
+        }
+
+        @Test
+        void should_count_keyword_matches_with_the_configured_counter() {
+            when(noteCounter.countByKeyword(ANY_KEYWORD)).thenReturn(Mono.just(2L));
+
+            StepVerifier.create(noteService.countByKeyword(ANY_KEYWORD))
+                    .expectNext(2L)
+                    .verifyComplete();
         }
     }
 
@@ -267,4 +594,16 @@ public class NoteServiceTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
+
+    private Note createNote(String id, int minutesAfterEpoch) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(minutesAfterEpoch);
+        return Note.builder()
+                .id(id)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(List.of(ANY_TAG))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
 }
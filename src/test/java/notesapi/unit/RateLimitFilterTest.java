@@ -0,0 +1,145 @@
+package notesapi.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import notesapi.infraestructure.config.RateLimitProperties;
+import notesapi.infraestructure.filter.RateLimitFilter;
+import notesapi.infraestructure.filter.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.adapter.ForwardedHeaderTransformer;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private static final WebFilterChain PASS = exchange -> Mono.empty();
+
+    @Test
+    void should_admit_a_burst_and_then_refill_at_the_configured_rate() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 10, Duration.ofMinutes(1), clock::get);
+
+        assertThat(limiter.tryAcquire("client", 1)).isZero();
+        assertThat(limiter.tryAcquire("client", 2)).isZero();
+        assertThat(limiter.tryAcquire("client", 1)).isEqualTo(Duration.ofMillis(100));
+        assertThat(limiter.tryAcquire("other client", 3)).isZero();
+
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.tryAcquire("client", 1)).isZero();
+    }
+
+    @Test
+    void should_reject_with_retry_after_once_the_client_runs_out_of_tokens() {
+        RateLimitFilter filter = filter(2, 2, 1);
+
+        assertThat(exchange(filter, "/notes/1", "key").getResponse().getStatusCode()).isNull();
+        assertThat(exchange(filter, "/notes/1", "key").getResponse().getStatusCode()).isNull();
+        MockServerWebExchange rejected = exchange(filter, "/notes/1", "key");
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(exchange(filter, "/notes/1", "other key").getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void should_charge_more_for_expensive_endpoints() {
+        RateLimitFilter filter = filter(5, 5, 1);
+
+        assertThat(exchange(filter, "/notes/search", "key").getResponse().getStatusCode()).isNull();
+        assertThat(exchange(filter, "/notes/search", "key").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void should_cap_concurrent_expensive_requests() {
+        RateLimitFilter filter = filter(100, 5, 1);
+        Sinks.Empty<Void> running = Sinks.empty();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/notes/search"));
+        filter.filter(first, exchange -> running.asMono()).subscribe();
+
+        MockServerWebExchange second = exchange(filter, "/notes/search", "key");
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange(filter, "/notes/1", "key").getResponse().getStatusCode()).isNull();
+
+        running.tryEmitEmpty();
+        assertThat(exchange(filter, "/notes/search", "key").getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void should_keep_long_running_streams_out_of_the_expensive_pool() {
+        RateLimitFilter filter = filter(100, 5, 1);
+        Sinks.Empty<Void> exporting = Sinks.empty();
+        MockServerWebExchange export = MockServerWebExchange.from(MockServerHttpRequest.get("/notes/_export"));
+        filter.filter(export, exchange -> exporting.asMono()).subscribe();
+
+        assertThat(exchange(filter, "/notes/_export", "key").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange(filter, "/notes/search", "key").getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void should_limit_clients_behind_a_proxy_by_their_forwarded_address() {
+        RateLimitFilter filter = filter(1, 1, 1);
+        ForwardedHeaderTransformer forwarded = new ForwardedHeaderTransformer();
+
+        assertThat(forwardedExchange(filter, forwarded, "203.0.113.1").getResponse().getStatusCode()).isNull();
+        assertThat(forwardedExchange(filter, forwarded, "203.0.113.2").getResponse().getStatusCode()).isNull();
+        assertThat(forwardedExchange(filter, forwarded, "203.0.113.1").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void should_limit_unknown_api_keys_by_ip_address() {
+        RateLimitFilter filter = filter(2, 2, 1);
+
+        assertThat(exchange(filter, "/notes/1", "unknown").getResponse().getStatusCode()).isNull();
+        assertThat(exchange(filter, "/notes/1", "another unknown").getResponse().getStatusCode()).isNull();
+
+        assertThat(exchange(filter, "/notes/1", "yet another").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange(filter, "/notes/1", "key").getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void should_not_limit_excluded_paths() {
+        RateLimitFilter filter = filter(1, 1, 1);
+
+        assertThat(exchange(filter, "/notes/1", "key").getResponse().getStatusCode()).isNull();
+        assertThat(exchange(filter, "/actuator/prometheus", "key").getResponse().getStatusCode()).isNull();
+        assertThat(exchange(filter, "/actuator/health", "key").getResponse().getStatusCode()).isNull();
+        assertThat(exchange(filter, "/notes/1", "key").getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static RateLimitFilter filter(int capacity, int expensiveCost, int maxConcurrentExpensive) {
+        RateLimitProperties properties = new RateLimitProperties(true, capacity, 1, "X-API-Key", Set.of("key", "other key"),
+                List.of("/actuator/**"), List.of("/notes/search"), List.of("/notes/_export"), expensiveCost,
+                maxConcurrentExpensive, 1, Duration.ofMinutes(1));
+        return new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static MockServerWebExchange forwardedExchange(RateLimitFilter filter, ForwardedHeaderTransformer forwarded, String client) {
+        MockServerHttpRequest request = MockServerHttpRequest.get("/notes/1")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 443))
+                .header("X-Forwarded-For", client)
+                .build();
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        StepVerifier.create(filter.filter(exchange.mutate().request(forwarded.apply(request)).build(), PASS)).verifyComplete();
+        return exchange;
+    }
+
+    private static MockServerWebExchange exchange(RateLimitFilter filter, String path, String apiKey) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).header("X-API-Key", apiKey));
+        StepVerifier.create(filter.filter(exchange, PASS)).verifyComplete();
+        return exchange;
+    }
+}
@@ -0,0 +1,115 @@
+package notesapi.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import notesapi.application.dto.response.NoteResponse;
+import notesapi.application.dto.response.PaginatedResponse;
+import notesapi.domain.model.Note;
+import notesapi.domain.model.NoteProjection;
+import notesapi.infraestructure.codec.SerializedNoteCache;
+import notesapi.infraestructure.codec.SerializedNoteEncoder;
+import notesapi.infraestructure.config.ResponseCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static notesapi.common.TestData.ANY_CONTENT;
+import static notesapi.common.TestData.ANY_ID;
+import static notesapi.common.TestData.ANY_TAG;
+import static notesapi.common.TestData.ANY_TITLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SerializedNoteEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private SerializedNoteCache cache;
+    private SerializedNoteEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SerializedNoteCache(new ResponseCacheProperties(true, DataSize.ofMegabytes(1)));
+        encoder = new SerializedNoteEncoder(objectMapper, cache);
+    }
+
+    @Test
+    void should_write_the_same_json_as_jackson_and_reuse_it() throws Exception {
+        NoteResponse note = NoteResponse.from(note(ANY_ID, 0L));
+
+        assertEquals(objectMapper.writeValueAsString(note), encode(note));
+        assertEquals(objectMapper.writeValueAsString(note), encode(note));
+
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void should_assemble_pages_from_cached_items() throws Exception {
+        List<NoteResponse> items = List.of(NoteResponse.from(note("1", 0L)), NoteResponse.from(note("2", 3L)));
+        PaginatedResponse page = PaginatedResponse.of(items, 0, 2, 10);
+
+        encode(items.get(0));
+
+        assertEquals(objectMapper.writeValueAsString(page), encode(page));
+        assertEquals(objectMapper.writeValueAsString(PaginatedResponse.of(List.of(), 0, 2)),
+                encode(PaginatedResponse.of(List.of(), 0, 2)));
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void should_not_serve_a_stale_revision_or_another_fieldset() throws Exception {
+        Note original = note(ANY_ID, 0L);
+        NoteResponse preview = NoteResponse.from(original, NoteProjection.of(List.of("title", "contentPreview"), 3));
+        NoteResponse updated = NoteResponse.from(original.toBuilder().title("changed").version(1L).build());
+
+        encode(NoteResponse.from(original));
+
+        assertEquals(objectMapper.writeValueAsString(preview), encode(preview));
+        assertEquals(objectMapper.writeValueAsString(updated), encode(updated));
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    void should_not_cache_notes_written_to_a_stream() throws Exception {
+        NoteResponse note = NoteResponse.from(note(ANY_ID, 0L));
+
+        assertEquals(objectMapper.writeValueAsString(note), encode(note, MediaType.TEXT_EVENT_STREAM));
+        assertEquals(objectMapper.writeValueAsString(note), encode(note, MediaType.APPLICATION_NDJSON));
+
+        assertEquals(0, cache.stats().requestCount());
+    }
+
+    private String encode(Object value) {
+        return encode(value, MediaType.APPLICATION_JSON);
+    }
+
+    private String encode(Object value, MediaType mediaType) {
+        DataBuffer buffer = encoder.encodeValue(value, DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forInstance(value), mediaType, Map.of());
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Note note(String id, long version) {
+        return Note.builder()
+                .id(id)
+                .title(ANY_TITLE)
+                .content(ANY_CONTENT)
+                .tags(List.of(ANY_TAG))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 10, 0))
+                .version(version)
+                .build();
+    }
+}